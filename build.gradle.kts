@@ -12,6 +12,7 @@ plugins {
     alias(libs.plugins.spring.dependency.management)
     alias(libs.plugins.shadow)
     alias(libs.plugins.sonarqube)
+    alias(libs.plugins.jmh)
 }
 
 group = "io.hexlet.blog"
@@ -33,6 +34,11 @@ dependencies {
     implementation(libs.springBootStarterDataJpa)
     implementation(libs.springBootStarterValidation)
     implementation(libs.springBootStarterActuator)
+    implementation(libs.micrometerRegistryPrometheus)
+    implementation(libs.micrometerTracingBridgeOtel)
+    implementation(libs.opentelemetryExporterLogging)
+    implementation(libs.opentelemetryExporterOtlp)
+    implementation(libs.datasourceMicrometer)
     implementation(libs.springBootStarterSecurity)
     implementation(libs.springBootStarterOauth2ResourceServer)
     implementation(libs.springBootDevtools)
@@ -56,6 +62,10 @@ dependencies {
     // DB
     runtimeOnly(libs.h2)
     implementation(libs.postgresql);
+    implementation(libs.hibernateJcache)
+    implementation(variantOf(libs.ehcache) { classifier("jakarta") })
+    implementation(libs.flywayCore)
+    implementation(libs.flywayPostgresql)
 
     // Tests
     testImplementation(libs.springBootStarterTest)
@@ -93,6 +103,21 @@ tasks.jacocoTestReport {
     }
 }
 
+// Микробенчмарки: ./gradlew jmh, один класс — ./gradlew jmh -PjmhIncludes=UserPageBenchmark
+// Результаты в build/results/jmh/results.json, их удобно сравнивать между коммитами.
+jmh {
+    jmhVersion = libs.versions.jmh.get()
+    fork = 1
+    warmupIterations = 3
+    iterations = 5
+    profilers = listOf("gc")
+    resultFormat = "JSON"
+    resultsFile = layout.buildDirectory.file("results/jmh/results.json")
+    providers.gradleProperty("jmhIncludes").orNull?.let { includes = listOf(it) }
+    // PoolSizingBenchmark против настоящей базы: -PbenchJdbcUrl=jdbc:postgresql://...
+    providers.gradleProperty("benchJdbcUrl").orNull?.let { jvmArgsAppend = listOf("-Dbench.jdbc-url=$it") }
+}
+
 spotless {
     java {
         importOrder()
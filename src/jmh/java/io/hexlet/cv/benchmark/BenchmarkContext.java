@@ -0,0 +1,44 @@
+package io.hexlet.cv.benchmark;
+
+import io.hexlet.cv.App;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Один Spring-контекст на форк JMH поверх H2 в памяти, засеянной BenchmarkData.
+ * Фоновые задачи (счётчики, лента, индекс подбора) отодвинуты, чтобы не шуметь в замерах.
+ */
+public final class BenchmarkContext {
+
+    private static ConfigurableApplicationContext context;
+
+    private BenchmarkContext() {
+    }
+
+    public static synchronized ConfigurableApplicationContext get() {
+        if (context == null) {
+            context = builder("jmh").run();
+            BenchmarkData.seed(context);
+        }
+        return context;
+    }
+
+    static SpringApplicationBuilder builder(String database) {
+        return new SpringApplicationBuilder(App.class)
+                .profiles("dev")
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN",
+                        "app.tags.counter.flush-interval=1h",
+                        "app.tags.counter.reconcile-on-startup=false",
+                        "app.matching.rebuild-interval=24h",
+                        "app.feed.poll-interval=1h",
+                        "app.events.relay-interval=1h");
+    }
+
+    public static <T> T bean(Class<T> type) {
+        return get().getBean(type);
+    }
+}
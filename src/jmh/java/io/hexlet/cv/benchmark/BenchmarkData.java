@@ -0,0 +1,186 @@
+package io.hexlet.cv.benchmark;
+
+import io.hexlet.cv.component.SequenceIdAllocator;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Засев H2 объёмами, близкими к продовым: пользователи с резюме, ответы, лайки, комментарии,
+ * карьерные треки и секции страниц. Пишется напрямую через JDBC batch, без Hibernate.
+ */
+public final class BenchmarkData {
+
+    public static final int USERS = 10_000;
+    public static final int ANSWERS_PER_USER = 5;
+    public static final int HEAVY_USER_ANSWERS = 500;
+    public static final int CAREERS = 20;
+    public static final int STEPS_PER_CAREER = 10;
+    public static final int PAGES = 10;
+    public static final int SECTIONS_PER_PAGE = 20;
+
+    public static final String TYPICAL_USER_EMAIL = email(1);
+    public static final String HEAVY_USER_EMAIL = email(0);
+
+    private static final int BATCH_SIZE = 1_000;
+
+    private BenchmarkData() {
+    }
+
+    static void seed(ConfigurableApplicationContext context) {
+        var jdbc = context.getBean(JdbcTemplate.class);
+        var sequences = context.getBean(SequenceIdAllocator.class);
+        var now = Timestamp.valueOf(LocalDateTime.now());
+
+        batch(jdbc, sequences, "users_seq", """
+                INSERT INTO users (id, email, first_name, last_name, encrypted_password, role, state, locale,
+                    created_at, updated_at)
+                VALUES (?, ?, ?, ?, ?, 'candidate', 'active', 'ru', ?, ?)
+                """, USERS, i -> new Object[]{email(i), "Имя" + i, "Фамилия" + i, "x", now, now});
+        var users = ids(jdbc, "SELECT id FROM users WHERE email LIKE 'bench-%' ORDER BY id");
+
+        batch(jdbc, sequences, "resumes_seq", """
+                INSERT INTO resumes (id, name, user_id, summary, answers_count, impressions_count, state, locale,
+                    created_at, updated_at)
+                VALUES (?, ?, ?, ?, 0, 0, 'published', 'ru', ?, ?)
+                """, USERS, i -> new Object[]{"Резюме " + i, users[i], "Java, Spring, SQL", now, now});
+        var resumes = ids(jdbc, "SELECT r.id FROM resumes r JOIN users u ON u.id = r.user_id "
+                + "WHERE u.email LIKE 'bench-%' ORDER BY r.id");
+
+        // пользователь i отвечает на резюме следующих за ним, у нулевого ответов на порядок больше
+        List<long[]> answerPairs = new ArrayList<>();
+        for (int u = 0; u < USERS; u++) {
+            int count = u == 0 ? HEAVY_USER_ANSWERS : ANSWERS_PER_USER;
+            for (int k = 1; k <= count; k++) {
+                answerPairs.add(new long[]{users[u], resumes[(u + k) % USERS]});
+            }
+        }
+        batch(jdbc, sequences, "resume_answers_seq", """
+                INSERT INTO resume_answers (id, user_id, resume_id, content, likes_count, created_at, updated_at)
+                VALUES (?, ?, ?, ?, 0, ?, ?)
+                """, answerPairs.size(), i -> new Object[]{
+                    answerPairs.get(i)[0], answerPairs.get(i)[1], "Хорошее резюме, добавьте проекты", now, now});
+        var answers = jdbc.queryForList("SELECT id, user_id, resume_id FROM resume_answers ORDER BY id");
+
+        // по лайку и комментарию на каждый ответ от следующего пользователя
+        batch(jdbc, sequences, "resume_answer_likes_seq", """
+                INSERT INTO resume_answer_likes (id, resume_id, answer_id, user_id, created_at, updated_at)
+                VALUES (?, ?, ?, ?, ?, ?)
+                """, answers.size(), i -> new Object[]{
+                    answers.get(i).get("resume_id"), answers.get(i).get("id"), users[(i + 1) % USERS], now, now});
+        batch(jdbc, sequences, "resume_answer_comments_seq", """
+                INSERT INTO resume_answer_comments (id, resume_id, answer_id, user_id, answer_user_id, content,
+                    created_at, updated_at)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+                """, answers.size(), i -> new Object[]{
+                    answers.get(i).get("resume_id"), answers.get(i).get("id"), users[(i + 1) % USERS],
+                    answers.get(i).get("user_id"), "Согласен", now, now});
+        // тяжёлый профиль ещё и рекомендует каждое резюме, на которое ответил: 500 строк в userRecommendation
+        batch(jdbc, sequences, "resume_answer_comments_seq", """
+                INSERT INTO resume_answer_comments (id, resume_id, answer_id, user_id, answer_user_id, content,
+                    created_at, updated_at)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+                """, HEAVY_USER_ANSWERS, i -> new Object[]{
+                    answers.get(i).get("resume_id"), answers.get(i).get("id"), users[0],
+                    answers.get(i).get("user_id"), "Рекомендую", now, now});
+        batch(jdbc, sequences, "resume_comments_seq", """
+                INSERT INTO resume_comments (id, resume_id, user_id, content, created_at, updated_at)
+                VALUES (?, ?, ?, ?, ?, ?)
+                """, USERS * 2, i -> new Object[]{
+                    resumes[i % USERS], users[(i + 7) % USERS], "Уточните опыт", now, now});
+
+        seedCareers(jdbc, sequences, users, now);
+
+        batch(jdbc, sequences, "page_sections_seq", """
+                INSERT INTO page_sections (id, page_key, section_key, title, content, active, created_at, updated_at)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+                """, PAGES * SECTIONS_PER_PAGE, i -> new Object[]{
+                    page(i / SECTIONS_PER_PAGE), "bench_section_" + i, "Заголовок " + i, "Текст секции " + i,
+                    i % 4 != 0, now.toString(), now.toString()});
+    }
+
+    public static String page(int index) {
+        return index == 0 ? "main" : "bench_page_" + index;
+    }
+
+    private static void seedCareers(JdbcTemplate jdbc, SequenceIdAllocator sequences, long[] users, Timestamp now) {
+        batch(jdbc, sequences, "careers_seq", """
+                INSERT INTO careers (id, name, description, slug, locale, created_at, updated_at)
+                VALUES (?, ?, ?, ?, 'ru', ?, ?)
+                """, CAREERS, i -> new Object[]{"Трек " + i, "Описание трека", "bench-career-" + i, now, now});
+        var careers = ids(jdbc, "SELECT id FROM careers WHERE slug LIKE 'bench-career-%' ORDER BY id");
+
+        batch(jdbc, sequences, "career_steps_seq", """
+                INSERT INTO career_steps (id, name, description, locale, created_at, updated_at)
+                VALUES (?, ?, ?, 'ru', ?, ?)
+                """, CAREERS * STEPS_PER_CAREER, i -> new Object[]{"bench-step-" + i, "Описание шага", now, now});
+        var steps = ids(jdbc, "SELECT id FROM career_steps WHERE name LIKE 'bench-step-%' ORDER BY id");
+
+        batch(jdbc, sequences, "career_items_seq", """
+                INSERT INTO career_items (id, career_id, career_step_id, "order", created_at, updated_at)
+                VALUES (?, ?, ?, ?, ?, ?)
+                """, steps.length, i -> new Object[]{
+                    careers[i / STEPS_PER_CAREER], steps[i], i % STEPS_PER_CAREER, now, now});
+
+        // каждый пользователь в двух треках, в каждом пройдена половина шагов
+        batch(jdbc, sequences, "career_members_seq", """
+                INSERT INTO career_members (id, career_id, user_id, state, created_at, updated_at)
+                VALUES (?, ?, ?, 'STARTED', ?, ?)
+                """, USERS * 2, i -> new Object[]{careers[(i / USERS + i) % CAREERS], users[i % USERS], now, now});
+        var members = jdbc.queryForList("SELECT id, career_id FROM career_members ORDER BY id");
+        List<long[]> stepMembers = new ArrayList<>();
+        for (int c = 0; c < careers.length; c++) {
+            for (var member : members) {
+                if (((Number) member.get("career_id")).longValue() == careers[c]) {
+                    for (int s = 0; s < STEPS_PER_CAREER / 2; s++) {
+                        stepMembers.add(new long[]{steps[c * STEPS_PER_CAREER + s],
+                            ((Number) member.get("id")).longValue()});
+                    }
+                }
+            }
+        }
+        batch(jdbc, sequences, "career_step_members_seq", """
+                INSERT INTO career_step_members (id, career_step_id, career_member_id, state, created_at, updated_at)
+                VALUES (?, ?, ?, 'COMPLETED', ?, ?)
+                """, stepMembers.size(), i -> new Object[]{stepMembers.get(i)[0], stepMembers.get(i)[1], now, now});
+    }
+
+    private static String email(int index) {
+        return "bench-" + index + "@example.com";
+    }
+
+    private static long[] ids(JdbcTemplate jdbc, String sql) {
+        return jdbc.queryForList(sql, Long.class).stream().mapToLong(Long::longValue).toArray();
+    }
+
+    // id берутся из последовательности таблицы, как у сущностей
+    private static void batch(JdbcTemplate jdbc, SequenceIdAllocator sequences, String sequence, String sql,
+                              int count, IntFunction<Object[]> row) {
+        long[] allocated = sequences.next(sequence, count);
+        batch(jdbc, sql, count, i -> {
+            var values = row.apply(i);
+            var withId = new Object[values.length + 1];
+            withId[0] = allocated[i];
+            System.arraycopy(values, 0, withId, 1, values.length);
+            return withId;
+        });
+    }
+
+    private static void batch(JdbcTemplate jdbc, String sql, int count, IntFunction<Object[]> row) {
+        List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < count; i++) {
+            rows.add(row.apply(i));
+            if (rows.size() == BATCH_SIZE) {
+                jdbc.batchUpdate(sql, rows);
+                rows.clear();
+            }
+        }
+        if (!rows.isEmpty()) {
+            jdbc.batchUpdate(sql, rows);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package io.hexlet.cv.benchmark;
+
+import io.hexlet.cv.model.Impression;
+import io.hexlet.cv.model.Tag;
+import io.hexlet.cv.model.Tagging;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.concurrent.TimeUnit;
+import org.hibernate.Session;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Вставка пачки impressions и taggings через Hibernate в одной транзакции, результат — строк в секунду.
+ * Режим per-row отправляет каждый INSERT отдельным обращением к базе, как было при IDENTITY,
+ * где id нужен сразу после вставки; batched — id из последовательности, INSERT уходят JDBC batch при коммите.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class BulkInsertBenchmark {
+
+    private static final int ROWS = 1_000;
+    private static final String MARKER = "bench_bulk_insert";
+
+    @Param({"impressions", "taggings"})
+    public String entity;
+
+    @Param({"per-row", "batched"})
+    public String mode;
+
+    private EntityManager entityManager;
+    private TransactionTemplate transactionTemplate;
+    private JdbcTemplate jdbcTemplate;
+    private Tag tag;
+    private long taggableId;
+
+    @Setup
+    public void setUp() {
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(
+                BenchmarkContext.bean(EntityManagerFactory.class));
+        transactionTemplate = BenchmarkContext.bean(TransactionTemplate.class);
+        jdbcTemplate = BenchmarkContext.bean(JdbcTemplate.class);
+        tag = transactionTemplate.execute(status -> {
+            var created = new Tag();
+            created.setName(MARKER);
+            created.setTaggingsCount(0);
+            entityManager.persist(created);
+            return created;
+        });
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void insert() {
+        transactionTemplate.executeWithoutResult(status -> {
+            if ("per-row".equals(mode)) {
+                entityManager.unwrap(Session.class).setJdbcBatchSize(1);
+            }
+            for (int i = 0; i < ROWS; i++) {
+                entityManager.persist("impressions".equals(entity) ? impression() : tagging());
+            }
+        });
+    }
+
+    // таблицы не растут между итерациями, иначе поздние итерации платят за большие индексы
+    @TearDown(Level.Iteration)
+    public void cleanUp() {
+        jdbcTemplate.update("DELETE FROM impressions WHERE controller_name = ?", MARKER);
+        jdbcTemplate.update("DELETE FROM taggings WHERE context = ?", MARKER);
+    }
+
+    private Impression impression() {
+        var impression = new Impression();
+        impression.setImpressionableType("Resume");
+        impression.setImpressionableId(++taggableId);
+        impression.setControllerName(MARKER);
+        impression.setActionName("show");
+        impression.setIpAddress("127.0.0.1");
+        impression.setSessionHash("bench");
+        impression.setRequestHash("bench");
+        return impression;
+    }
+
+    private Tagging tagging() {
+        var tagging = new Tagging();
+        tagging.setTag(entityManager.getReference(Tag.class, tag.getId()));
+        tagging.setTaggableType("Resume");
+        tagging.setTaggableId(++taggableId);
+        tagging.setTaggerType("User");
+        tagging.setTaggerId(1L);
+        tagging.setContext(MARKER);
+        tagging.setTenant(MARKER);
+        return tagging;
+    }
+}
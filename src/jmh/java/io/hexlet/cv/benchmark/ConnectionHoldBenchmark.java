@@ -0,0 +1,67 @@
+package io.hexlet.cv.benchmark;
+
+import io.hexlet.cv.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Страница пользователя через HTTP с open-in-view и без него. Время удержания соединения
+ * (hikaricp.connections.usage) печатается в конце форка: с open-in-view соединение держится
+ * до конца запроса вместе с рендером JSON, без него — только на транзакцию buildProps.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ConnectionHoldBenchmark {
+
+    @Param({"true", "false"})
+    public boolean openInView;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private HttpRequest request;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.builder("jmh_osiv")
+                .properties("spring.jpa.open-in-view=" + openInView)
+                .run();
+        BenchmarkData.seed(context);
+        var userId = context.getBean(UserRepository.class)
+                .findByEmail(BenchmarkData.TYPICAL_USER_EMAIL).orElseThrow().getId();
+        var port = context.getEnvironment().getProperty("local.server.port");
+
+        client = HttpClient.newHttpClient();
+        request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/ru/users/" + userId))
+                .header("X-Inertia", "true")
+                .build();
+    }
+
+    @Benchmark
+    public String userPage() throws IOException, InterruptedException {
+        return client.send(request, HttpResponse.BodyHandlers.ofString()).body();
+    }
+
+    @TearDown
+    public void tearDown() {
+        var usage = context.getBean(MeterRegistry.class).get("hikaricp.connections.usage").timer();
+        System.out.printf("open-in-view %s: connection held mean %.3f ms, max %.3f ms over %d checkouts%n",
+                openInView, usage.mean(TimeUnit.MILLISECONDS), usage.max(TimeUnit.MILLISECONDS), usage.count());
+        context.close();
+    }
+}
@@ -0,0 +1,125 @@
+package io.hexlet.cv.benchmark;
+
+import io.hexlet.cv.component.SequenceIdAllocator;
+import io.hexlet.cv.repository.UserRepository;
+import io.hexlet.cv.service.feed.FeedService;
+import io.hexlet.cv.service.feed.FeedService.FeedEntry;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Чтение ленты: только материализованные строки (fanout) и с подмешиванием событий
+ * горячего ресурса из events (hot). События раскладываются настоящим FeedService.fanOut().
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class FeedBenchmark {
+
+    private static final int EVENT_RESUMES_FROM = 2_000;
+    private static final int EVENT_RESUMES = 200;
+    private static final int EVENTS_PER_RESUME = 300;
+    private static final int HOT_COMMENTERS_FROM = 3_000;
+    private static final int HOT_COMMENTERS = 1_500;
+    private static final int HOT_EVENTS = 5_000;
+    private static final int PAGE_SIZE = 20;
+    private static final int DEEP_PAGE_OFFSET = 200;
+
+    private static boolean seeded;
+
+    @Param({"fanout", "hot"})
+    private String reader;
+
+    private FeedService feedService;
+    private Long userId;
+    private Long deepCursor;
+
+    @Setup
+    public void setUp() {
+        feedService = BenchmarkContext.bean(FeedService.class);
+        seedEvents();
+
+        // владелец резюме с событиями; второй ещё и комментатор горячего резюме
+        int index = "hot".equals(reader) ? EVENT_RESUMES_FROM + 1 : EVENT_RESUMES_FROM;
+        userId = BenchmarkContext.bean(UserRepository.class)
+                .findByEmail("bench-" + index + "@example.com").orElseThrow().getId();
+
+        Long cursor = null;
+        for (int read = 0; read < DEEP_PAGE_OFFSET; read += PAGE_SIZE) {
+            var page = feedService.page(userId, cursor, PAGE_SIZE);
+            cursor = page.get(page.size() - 1).eventId();
+        }
+        deepCursor = cursor;
+    }
+
+    @Benchmark
+    public List<FeedEntry> firstPage() {
+        return feedService.page(userId, null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<FeedEntry> deepPage() {
+        return feedService.page(userId, deepCursor, PAGE_SIZE);
+    }
+
+    private static synchronized void seedEvents() {
+        if (seeded) {
+            return;
+        }
+
+        var jdbc = BenchmarkContext.bean(JdbcTemplate.class);
+        var users = jdbc.queryForList("SELECT id FROM users WHERE email LIKE 'bench-%' ORDER BY id", Long.class);
+        var resumes = jdbc.queryForList("SELECT r.id FROM resumes r JOIN users u ON u.id = r.user_id "
+                + "WHERE u.email LIKE 'bench-%' ORDER BY r.id", Long.class);
+        var now = Timestamp.valueOf(LocalDateTime.now());
+        var random = new Random(42);
+
+        // аудитория последнего резюме больше fanout-limit, оно уйдёт в fan-out on read
+        long hotResume = resumes.get(resumes.size() - 1);
+        var sequences = BenchmarkContext.bean(SequenceIdAllocator.class);
+        var commentIds = sequences.next("resume_comments_seq", HOT_COMMENTERS + 1);
+        List<Object[]> comments = new ArrayList<>();
+        comments.add(new Object[]{commentIds[0], hotResume, users.get(EVENT_RESUMES_FROM + 1), now, now});
+        for (int i = 0; i < HOT_COMMENTERS; i++) {
+            comments.add(new Object[]{commentIds[i + 1], hotResume, users.get(HOT_COMMENTERS_FROM + i), now, now});
+        }
+        jdbc.batchUpdate("INSERT INTO resume_comments (id, resume_id, user_id, content, created_at, updated_at) "
+                + "VALUES (?, ?, ?, 'Интересно', ?, ?)", comments);
+
+        List<Object[]> events = new ArrayList<>();
+        for (int e = 0; e < EVENTS_PER_RESUME; e++) {
+            for (int r = 0; r < EVENT_RESUMES; r++) {
+                events.add(event(resumes.get(EVENT_RESUMES_FROM + r), users.get(random.nextInt(1_000)), now));
+            }
+            for (int h = 0; h < HOT_EVENTS / EVENTS_PER_RESUME; h++) {
+                events.add(event(hotResume, users.get(random.nextInt(1_000)), now));
+            }
+        }
+        for (int from = 0; from < events.size(); from += 1_000) {
+            jdbc.batchUpdate("INSERT INTO events (id, user_id, kind, locale, state, resource_type, resource_id, "
+                    + "created_at, updated_at) VALUES (" + sequences.nextValueExpression("events_seq")
+                    + ", ?, 'new_answer', 'ru', 'done', 'Resume', ?, ?, ?)",
+                    events.subList(from, Math.min(from + 1_000, events.size())));
+        }
+
+        BenchmarkContext.bean(FeedService.class).fanOut();
+        seeded = true;
+    }
+
+    private static Object[] event(long resumeId, long actorId, Timestamp createdAt) {
+        return new Object[]{actorId, resumeId, createdAt, createdAt};
+    }
+}
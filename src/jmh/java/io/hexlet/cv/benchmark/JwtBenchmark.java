@@ -0,0 +1,40 @@
+package io.hexlet.cv.benchmark;
+
+import io.hexlet.cv.util.JWTUtils;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+/**
+ * Выпуск access-токена (поиск пользователя и RSA-подпись) и его проверка на каждом запросе.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class JwtBenchmark {
+
+    private JWTUtils jwtUtils;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtils = BenchmarkContext.bean(JWTUtils.class);
+        token = jwtUtils.generateAccessToken(BenchmarkData.TYPICAL_USER_EMAIL);
+    }
+
+    @Benchmark
+    public String generateAccessToken() {
+        return jwtUtils.generateAccessToken(BenchmarkData.TYPICAL_USER_EMAIL);
+    }
+
+    @Benchmark
+    public Jwt decode() {
+        return jwtUtils.decode(token);
+    }
+}
@@ -0,0 +1,100 @@
+package io.hexlet.cv.benchmark;
+
+import io.hexlet.cv.service.matching.FeatureDictionary;
+import io.hexlet.cv.service.matching.FeatureVector;
+import io.hexlet.cv.service.matching.MatchingFeatures;
+import io.hexlet.cv.service.matching.MatchingIndex;
+import io.hexlet.cv.service.matching.MatchingIndex.Match;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Подбор вакансий под резюме на синтетических данных без базы.
+ * Навыки распределены неравномерно: популярные встречаются в большинстве вакансий,
+ * как Java и SQL в реальных данных, поэтому списки кандидатов по ним длинные.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(jvmArgsAppend = "-Xmx8g")
+public class MatchingBenchmark {
+
+    private static final int SKILLS = 2_000;
+    private static final int CITIES = 100;
+    private static final int TOP_K = 20;
+
+    // резюме:вакансии
+    @Param({"10000:100000", "100000:1000000"})
+    private String size;
+
+    private FeatureVector[] resumes;
+    private MatchingIndex vacancies;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        var parts = size.split(":");
+        int resumeCount = Integer.parseInt(parts[0]);
+        int vacancyCount = Integer.parseInt(parts[1]);
+
+        var random = new Random(42);
+        var dictionary = new FeatureDictionary();
+
+        resumes = new FeatureVector[resumeCount];
+        for (int i = 0; i < resumeCount; i++) {
+            var features = MatchingFeatures.resume(null, city(random), random.nextBoolean() ? "да" : "нет",
+                    skills(random, 3 + random.nextInt(8)), Set.of());
+            resumes[i] = FeatureVector.of(features, dictionary);
+        }
+
+        long[] ids = new long[vacancyCount];
+        var vectors = new FeatureVector[vacancyCount];
+        for (int i = 0; i < vacancyCount; i++) {
+            var tags = skills(random, 2 + random.nextInt(5));
+            ids[i] = i + 1;
+            vectors[i] = FeatureVector.of(MatchingFeatures.vacancy(tags.get(0), city(random), tags), dictionary);
+        }
+
+        var skillFeatures = new BitSet(dictionary.size());
+        for (int id = 0; id < dictionary.size(); id++) {
+            if (dictionary.name(id).startsWith(MatchingFeatures.SKILL_PREFIX)) {
+                skillFeatures.set(id);
+            }
+        }
+        vacancies = MatchingIndex.build(ids, vectors, skillFeatures::get);
+    }
+
+    @Benchmark
+    public List<Match> topVacanciesForResume() {
+        var query = resumes[next];
+        next = (next + 1) % resumes.length;
+        return vacancies.topK(query, TOP_K);
+    }
+
+    // куб смещает выбор к началу словаря: первые навыки самые популярные
+    private static List<String> skills(Random random, int count) {
+        List<String> skills = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            double skew = random.nextDouble();
+            skills.add("skill" + (int) (skew * skew * skew * SKILLS));
+        }
+        return skills;
+    }
+
+    private static String city(Random random) {
+        return "city" + random.nextInt(CITIES);
+    }
+}
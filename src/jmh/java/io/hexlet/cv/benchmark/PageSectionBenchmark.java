@@ -0,0 +1,36 @@
+package io.hexlet.cv.benchmark;
+
+import io.hexlet.cv.dto.pagesection.PageSectionDTO;
+import io.hexlet.cv.service.PageSectionService;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PageSectionBenchmark {
+
+    private PageSectionService pageSectionService;
+
+    @Setup
+    public void setUp() {
+        pageSectionService = BenchmarkContext.bean(PageSectionService.class);
+    }
+
+    @Benchmark
+    public List<PageSectionDTO> activeOnPage() {
+        return pageSectionService.findAllOnPage(BenchmarkData.page(0), true);
+    }
+
+    @Benchmark
+    public List<PageSectionDTO> allSections() {
+        return pageSectionService.findAllOnPage(null, null);
+    }
+}
@@ -0,0 +1,78 @@
+package io.hexlet.cv.benchmark;
+
+import io.hexlet.cv.service.UserPageSercive;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Нагрузочный замер для выбора maximum-pool-size: 32 потока собирают страницы случайных пользователей
+ * через пул заданного размера. Пропускная способность и хвосты SampleTime показывают, где рост пула
+ * перестаёт помогать; в конце форка печатается время ожидания соединения из hikaricp.connections.acquire.
+ * Против PostgreSQL: ./gradlew jmh -PbenchJdbcUrl=..., база заранее засевается через app.seed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(32)
+public class PoolSizingBenchmark {
+
+    @Param({"4", "8", "16", "32"})
+    public int poolSize;
+
+    private ConfigurableApplicationContext context;
+    private UserPageSercive userPageService;
+    private TransactionTemplate transactionTemplate;
+    private long[] userIds;
+
+    @Setup
+    public void setUp() {
+        var builder = BenchmarkContext.builder("jmh_pool").properties(
+                "spring.datasource.hikari.maximum-pool-size=" + poolSize,
+                "spring.datasource.hikari.minimum-idle=" + poolSize);
+        var url = System.getProperty("bench.jdbc-url");
+        if (url != null) {
+            // логин и пароль передаются в самом URL: ?user=...&password=...
+            builder.properties("spring.datasource.url=" + url,
+                    "spring.datasource.driver-class-name=org.postgresql.Driver",
+                    "spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect");
+        }
+        context = builder.run();
+        if (url == null) {
+            BenchmarkData.seed(context);
+        }
+        userPageService = context.getBean(UserPageSercive.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        userIds = context.getBean(JdbcTemplate.class)
+                .queryForList("SELECT id FROM users ORDER BY id LIMIT " + BenchmarkData.USERS, Long.class)
+                .stream().mapToLong(Long::longValue).toArray();
+    }
+
+    @Benchmark
+    public Map<String, Object> buildProps() {
+        long userId = userIds[ThreadLocalRandom.current().nextInt(userIds.length)];
+        return transactionTemplate.execute(status -> UserPageBenchmark.resolve(userPageService.buildProps(userId)));
+    }
+
+    @TearDown
+    public void tearDown() {
+        var acquire = context.getBean(MeterRegistry.class).get("hikaricp.connections.acquire").timer();
+        System.out.printf("pool %d: acquire mean %.3f ms, max %.3f ms over %d acquisitions%n", poolSize,
+                acquire.mean(TimeUnit.MILLISECONDS), acquire.max(TimeUnit.MILLISECONDS), acquire.count());
+        context.close();
+    }
+}
@@ -0,0 +1,47 @@
+package io.hexlet.cv.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Время старта приложения над уже заполненной базой: ddl-auto=update сравнивает каждую таблицу
+ * с сущностями, Flyway только сверяет историю миграций. Один замер — полный старт и остановка контекста.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+public class StartupBenchmark {
+
+    private static final String DATABASE = "jmh_startup";
+
+    @Param({"ddl-update", "migrations"})
+    public String schema;
+
+    // база переживает контексты (DB_CLOSE_DELAY=-1), засеваем её один раз через миграции
+    @Setup
+    public void setUp() {
+        try (var context = BenchmarkContext.builder(DATABASE).run()) {
+            BenchmarkData.seed(context);
+        }
+    }
+
+    @Benchmark
+    public void start() {
+        var builder = BenchmarkContext.builder(DATABASE);
+        if ("ddl-update".equals(schema)) {
+            builder.properties("spring.flyway.enabled=false", "spring.jpa.hibernate.ddl-auto=update");
+        }
+        builder.run().close();
+    }
+}
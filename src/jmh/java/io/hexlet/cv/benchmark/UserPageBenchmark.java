@@ -0,0 +1,64 @@
+package io.hexlet.cv.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hexlet.cv.repository.UserRepository;
+import io.hexlet.cv.service.UserPageSercive;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Сборка props страницы пользователя. Транзакция вокруг вызова заменяет open-in-view веб-запроса.
+ * buildAndSerialize добавляет запись props в JSON, у heavy 500 ответов и 500 рекомендаций;
+ * память на операцию смотреть с -prof gc (gc.alloc.rate.norm).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class UserPageBenchmark {
+
+    @Param({"typical", "heavy"})
+    private String user;
+
+    private UserPageSercive userPageService;
+    private ObjectMapper objectMapper;
+    private TransactionTemplate transactionTemplate;
+    private Long userId;
+
+    @Setup
+    public void setUp() {
+        userPageService = BenchmarkContext.bean(UserPageSercive.class);
+        transactionTemplate = BenchmarkContext.bean(TransactionTemplate.class);
+        objectMapper = BenchmarkContext.bean(ObjectMapper.class);
+        var email = "heavy".equals(user) ? BenchmarkData.HEAVY_USER_EMAIL : BenchmarkData.TYPICAL_USER_EMAIL;
+        userId = BenchmarkContext.bean(UserRepository.class).findByEmail(email).orElseThrow().getId();
+    }
+
+    @Benchmark
+    public Map<String, Object> buildProps() {
+        return transactionTemplate.execute(status -> resolve(userPageService.buildProps(userId)));
+    }
+
+    @Benchmark
+    public void buildAndSerialize() throws IOException {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), buildProps());
+    }
+
+    // разделы страницы ленивые, как при полной отрисовке вычисляем их все; вызывать внутри транзакции,
+    // как это делает StreamingInertia
+    static Map<String, Object> resolve(Map<String, Object> props) {
+        props.replaceAll((key, value) -> value instanceof Supplier<?> supplier ? supplier.get() : value);
+        return props;
+    }
+}
@@ -0,0 +1,85 @@
+package io.hexlet.cv.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hexlet.cv.component.inertia.InertiaPage;
+import io.hexlet.cv.component.inertia.InertiaPageMessageConverter;
+import io.hexlet.cv.repository.UserRepository;
+import io.hexlet.cv.service.UserPageSercive;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Отдача HTML первого захода на страницу пользователя: JSON страницы строкой, подставленной в app.html,
+ * как в Inertia.render, против потоковой записи {@link InertiaPageMessageConverter}.
+ * Память на операцию смотреть с -prof gc (gc.alloc.rate.norm).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class UserPageRenderBenchmark {
+
+    @Param({"typical", "heavy"})
+    private String user;
+
+    @Param({"string", "streaming"})
+    private String renderer;
+
+    private ObjectMapper objectMapper;
+    private InertiaPageMessageConverter converter;
+    private String template;
+    private InertiaPage page;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = BenchmarkContext.bean(ObjectMapper.class);
+        converter = BenchmarkContext.bean(InertiaPageMessageConverter.class);
+        try (var in = new ClassPathResource("templates/app.html").getInputStream()) {
+            template = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+
+        var email = "heavy".equals(user) ? BenchmarkData.HEAVY_USER_EMAIL : BenchmarkData.TYPICAL_USER_EMAIL;
+        var userId = BenchmarkContext.bean(UserRepository.class).findByEmail(email).orElseThrow().getId();
+        var userPageService = BenchmarkContext.bean(UserPageSercive.class);
+        var props = BenchmarkContext.bean(TransactionTemplate.class)
+                .execute(status -> UserPageBenchmark.resolve(userPageService.buildProps(userId)));
+        page = new InertiaPage("Users/UserPage", props, "/ru/users/" + userId, null);
+    }
+
+    @Benchmark
+    public void render() throws IOException {
+        var body = OutputStream.nullOutputStream();
+        if ("string".equals(renderer)) {
+            var json = objectMapper.writeValueAsString(page).replace("'", "&#39;");
+            body.write(template.replace("@PageObject@", json).getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+
+        var headers = new HttpHeaders();
+        headers.setContentType(InertiaPageMessageConverter.TEXT_HTML_UTF8);
+        converter.write(page, InertiaPageMessageConverter.TEXT_HTML_UTF8, new HttpOutputMessage() {
+            @Override
+            public OutputStream getBody() {
+                return body;
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                return headers;
+            }
+        });
+    }
+}
@@ -0,0 +1,60 @@
+package io.hexlet.cv.benchmark;
+
+import io.hexlet.cv.validator.EmailNotWithSingleCharTldValidator;
+import io.hexlet.cv.validator.NotInDisposableEmailDomainsValidator;
+import io.hexlet.cv.validator.NotInTop10KValidator;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Валидаторы регистрации по спискам из classpath, без Spring-контекста.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ValidatorBenchmark {
+
+    @Param({"accepted", "rejected"})
+    private String input;
+
+    private NotInTop10KValidator top10KValidator;
+    private NotInDisposableEmailDomainsValidator disposableDomainsValidator;
+    private EmailNotWithSingleCharTldValidator singleCharTldValidator;
+    private String password;
+    private String email;
+
+    @Setup
+    public void setUp() {
+        top10KValidator = new NotInTop10KValidator();
+        top10KValidator.loadBlacklist();
+        disposableDomainsValidator = new NotInDisposableEmailDomainsValidator();
+        disposableDomainsValidator.loadDisposableEmailBlocklist();
+        singleCharTldValidator = new EmailNotWithSingleCharTldValidator();
+
+        boolean accepted = "accepted".equals(input);
+        password = accepted ? "Correct-Horse-Battery-42" : "password";
+        email = accepted ? "ivan.petrov@hexlet.io" : "someone@mailinator.com";
+    }
+
+    @Benchmark
+    public boolean notInTop10K() {
+        return top10KValidator.isValid(password, null);
+    }
+
+    @Benchmark
+    public boolean notInDisposableDomains() {
+        return disposableDomainsValidator.isValid(email, null);
+    }
+
+    @Benchmark
+    public boolean notWithSingleCharTld() {
+        return singleCharTldValidator.isValid(email, null);
+    }
+}
@@ -0,0 +1,120 @@
+package io.hexlet.cv.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.hexlet.cv.model.Version;
+import io.hexlet.cv.service.versioning.VersioningService;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Запись версии резюме при правке одного поля и восстановление версии из снимка и патчей.
+ * Счётчики storedBytes/snapshotBytes показывают, сколько байт пишется против полного снимка на каждую правку.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class VersioningBenchmark {
+
+    private static final String ITEM_TYPE = "BenchResume";
+    private static final int ITEMS = 1_000;
+    private static final int HISTORY = 50;
+
+    private VersioningService versioningService;
+    private TransactionTemplate transactionTemplate;
+    private ObjectMapper objectMapper;
+    private Map<String, Object> state;
+    private Long latestVersionId;
+    private Long middleVersionId;
+    private long edit;
+
+    @Setup
+    public void setUp() {
+        versioningService = BenchmarkContext.bean(VersioningService.class);
+        transactionTemplate = BenchmarkContext.bean(TransactionTemplate.class);
+        objectMapper = BenchmarkContext.bean(ObjectMapper.class);
+        state = resumeState();
+
+        // у нулевой записи длинная история для замера восстановления
+        for (int i = 0; i < HISTORY; i++) {
+            var version = record(0L);
+            if (i == HISTORY / 2) {
+                middleVersionId = version.getId();
+            }
+            latestVersionId = version.getId();
+        }
+    }
+
+    @Benchmark
+    public Version recordEdit(WriteCounters counters) throws Exception {
+        var version = record(1 + edit % ITEMS);
+        counters.storedBytes += length(version.getObjectChanges()) + length(version.getObject());
+        counters.snapshotBytes += objectMapper.writeValueAsString(state).length();
+        return version;
+    }
+
+    @Benchmark
+    public ObjectNode reconstructLatest() {
+        return versioningService.reconstruct(ITEM_TYPE, 0L, latestVersionId);
+    }
+
+    @Benchmark
+    public ObjectNode reconstructMiddle() {
+        return versioningService.reconstruct(ITEM_TYPE, 0L, middleVersionId);
+    }
+
+    // типичная правка: меняется одно короткое поле, длинные описания остаются прежними
+    private Version record(Long itemId) {
+        edit++;
+        state.put("summary", "Java-разработчик, правка " + edit);
+        state.put("updatedAt", "2025-01-01T00:00:" + (edit % 60));
+        return transactionTemplate.execute(status ->
+                versioningService.record(ITEM_TYPE, itemId, "update", "benchmark", state));
+    }
+
+    private static Map<String, Object> resumeState() {
+        Map<String, Object> resume = new LinkedHashMap<>();
+        resume.put("name", "Резюме backend-разработчика");
+        resume.put("state", "published");
+        resume.put("summary", "Java-разработчик");
+        resume.put("skillsDescription", "Java, Spring Boot, Hibernate, PostgreSQL, Kafka, Docker, Kubernetes");
+        resume.put("githubUrl", "https://github.com/example");
+        resume.put("englishFluency", "B2");
+        resume.put("city", "Москва");
+        resume.put("relocation", "да");
+        resume.put("contactEmail", "ivan@example.com");
+        resume.put("contactTelegram", "@ivan");
+        resume.put("projectsDescription", "Разрабатывал платёжный сервис и систему отчётности. ".repeat(40));
+        resume.put("aboutMyself", "Люблю чистый код, ревью и автоматизацию. ".repeat(20));
+        resume.put("updatedAt", "2025-01-01T00:00:00");
+        return resume;
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class WriteCounters {
+        public long storedBytes;
+        public long snapshotBytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            storedBytes = 0;
+            snapshotBytes = 0;
+        }
+    }
+}
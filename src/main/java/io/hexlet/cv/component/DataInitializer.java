@@ -7,7 +7,6 @@ import io.hexlet.cv.model.CareerMemberVersion;
 import io.hexlet.cv.model.CareerStep;
 import io.hexlet.cv.model.CareerStepMember;
 import io.hexlet.cv.model.Country;
-import io.hexlet.cv.model.Event;
 import io.hexlet.cv.model.Impression;
 import io.hexlet.cv.model.Notification;
 import io.hexlet.cv.model.Resume;
@@ -18,7 +17,6 @@ import io.hexlet.cv.model.ResumeComment;
 import io.hexlet.cv.model.ResumeEducation;
 import io.hexlet.cv.model.ResumeWork;
 import io.hexlet.cv.model.Tag;
-import io.hexlet.cv.model.Tagging;
 import io.hexlet.cv.model.User;
 import io.hexlet.cv.model.Vacancy;
 import io.hexlet.cv.model.Version;
@@ -30,7 +28,6 @@ import io.hexlet.cv.repository.CareerRepository;
 import io.hexlet.cv.repository.CareerStepMemberRepository;
 import io.hexlet.cv.repository.CareerStepRepository;
 import io.hexlet.cv.repository.CountryRepository;
-import io.hexlet.cv.repository.EventRepository;
 import io.hexlet.cv.repository.ImpressionRepository;
 import io.hexlet.cv.repository.NotificationRepository;
 import io.hexlet.cv.repository.ResumeAnswerCommentRepository;
@@ -41,17 +38,22 @@ import io.hexlet.cv.repository.ResumeEducationRepository;
 import io.hexlet.cv.repository.ResumeRepository;
 import io.hexlet.cv.repository.ResumeWorkRepository;
 import io.hexlet.cv.repository.TagRepository;
-import io.hexlet.cv.repository.TaggingRepository;
 import io.hexlet.cv.repository.UserRepository;
 import io.hexlet.cv.repository.VacancyRepository;
 import io.hexlet.cv.repository.VersionRepository;
-import jakarta.annotation.PostConstruct;
+import io.hexlet.cv.service.EventRecorder;
+import io.hexlet.cv.service.TaggingService;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
 
+@Slf4j
 @Component
 @AllArgsConstructor
 public class DataInitializer {
@@ -65,7 +67,7 @@ public class DataInitializer {
     private final ResumeAnswerCommentRepository resumeAnswerCommentRepository;
     private final ResumeAnswerLikeRepository resumeAnswerLikeRepository;
     private final TagRepository tagRepository;
-    private final TaggingRepository taggingRepository;
+    private final TaggingService taggingService;
     private final CareerRepository careerRepository;
     private final CareerStepRepository careerStepRepository;
     private final CareerItemRepository careerItemRepository;
@@ -76,12 +78,41 @@ public class DataInitializer {
     private final VacancyRepository vacancyRepository;
     private final CountryRepository countryRepository;
     private final NotificationRepository notificationRepository;
-    private final EventRepository eventRepository;
+    private final EventRecorder eventRecorder;
     private final VersionRepository versionRepository;
     private final PasswordEncoder passwordEncoder;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Засевает демо-данные одной транзакцией в отдельном потоке data-initializer: слушатель
+     * ApplicationReadyEvent только запускает его, поэтому старт и readiness засева не ждут.
+     * С app.demo-data.async=false засев идёт прямо в слушателе (тесты, которым нужна готовая база до первого теста).
+     * Id берутся из последовательностей, поэтому save только ставит сущности в очередь,
+     * а при коммите Hibernate отправляет их пачками по таблицам (hibernate.jdbc.batch_size, order_inserts).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initializeData(ApplicationReadyEvent event) {
+        boolean async = event.getApplicationContext().getEnvironment()
+                .getProperty("app.demo-data.async", Boolean.class, true);
+        if (!async) {
+            seed();
+            return;
+        }
+
+        var thread = new Thread(this::seed, "data-initializer");
+        thread.setDaemon(true);
+        thread.start();
+    }
 
-    @PostConstruct
-    public void initializeData() {
+    private void seed() {
+        try {
+            transactionTemplate.executeWithoutResult(status -> seedInTransaction());
+        } catch (RuntimeException e) {
+            log.error("Demo data seeding failed", e);
+        }
+    }
+
+    private void seedInTransaction() {
         if (userRepository.count() > 0) {
             return;
         }
@@ -123,7 +154,9 @@ public class DataInitializer {
         Vacancy vacancy = createVacancy(sergey, "Java Developer в Hexlet", russia);
 
         //
-        createEvent(ivan, "resume_created", "Resume", ivanResume.getId());
+        // через outbox EventRecorder, а не прямым save в events: порядок id задаёт перенос
+        eventRecorder.record(ivan.getId(), "resume_created", "ru", EventRecorder.STATE_DONE, "Resume",
+                ivanResume.getId());
         createNotification(ivan, "Resume", ivanResume.getId(), "new_comment");
 
         //
@@ -131,7 +164,8 @@ public class DataInitializer {
 
         //
         Tag javaTag = createTag("Java");
-        createTagging(javaTag, "Resume", ivanResume.getId());
+        // через сервис, чтобы taggings_count и похожие теги обновились так же, как в приложении
+        taggingService.tag(javaTag, "Resume", ivanResume.getId(), ivan.getId());
 
         //
         createVersion("Resume", ivanResume.getId(), "create", "system");
@@ -321,17 +355,6 @@ public class DataInitializer {
         return vacancyRepository.save(v);
     }
 
-    private Event createEvent(User user, String kind, String resourceType, Long resourceId) {
-        Event e = new Event();
-        e.setUser(user);
-        e.setKind(kind);
-        e.setLocale("ru");
-        e.setState("done");
-        e.setResourceType(resourceType);
-        e.setResourceId(resourceId);
-        return eventRepository.save(e);
-    }
-
     private Notification createNotification(User user, String resourceType, Long resourceId, String kind) {
         Notification n = new Notification();
         n.setUser(user);
@@ -360,22 +383,10 @@ public class DataInitializer {
     private Tag createTag(String name) {
         Tag t = new Tag();
         t.setName(name);
-        t.setTaggingsCount(1);
+        t.setTaggingsCount(0);
         return tagRepository.save(t);
     }
 
-    private Tagging createTagging(Tag tag, String type, Long id) {
-        Tagging tg = new Tagging();
-        tg.setTag(tag);
-        tg.setTaggableType(type);
-        tg.setTaggableId(id);
-        tg.setTaggerType("User");
-        tg.setTaggerId(1L);
-        tg.setContext("default");
-        tg.setTenant("default");
-        return taggingRepository.save(tg);
-    }
-
     private Version createVersion(String type, Long id, String event, String who) {
         Version v = new Version();
         v.setItemType(type);
@@ -0,0 +1,47 @@
+package io.hexlet.cv.component;
+
+import io.hexlet.cv.model.ResumeAnswer;
+import io.hexlet.cv.model.ResumeAnswerComment;
+import io.hexlet.cv.model.ResumeComment;
+import io.hexlet.cv.model.User;
+import io.hexlet.cv.service.NotificationService;
+import jakarta.persistence.PostPersist;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * Собирает намерения уведомить подписчиков резюме и авторов ответов при новых записях.
+ * Подписчиков резюме находит поток записи уведомлений.
+ * Сервис берётся лениво: слушатель создаётся Hibernate вместе с EntityManagerFactory.
+ */
+@Component
+public class NotificationEntityListener {
+
+    private final ObjectProvider<NotificationService> notificationService;
+
+    public NotificationEntityListener(ObjectProvider<NotificationService> notificationService) {
+        this.notificationService = notificationService;
+    }
+
+    // только id связей: getId у прокси не инициализирует его, ленивых загрузок во время flush нет
+    @PostPersist
+    public void onPersist(Object entity) {
+        if (entity instanceof ResumeAnswer answer) {
+            notificationService.getObject()
+                    .notifyResumeFollowers(answer.getResume().getId(), idOf(answer.getUser()), "new_answer");
+        } else if (entity instanceof ResumeComment comment) {
+            notificationService.getObject()
+                    .notifyResumeFollowers(comment.getResume().getId(), idOf(comment.getUser()), "new_comment");
+        } else if (entity instanceof ResumeAnswerComment comment) {
+            var recipientId = idOf(comment.getAnswerUser());
+            if (recipientId != null && !recipientId.equals(idOf(comment.getUser()))) {
+                notificationService.getObject()
+                        .notify(recipientId, "ResumeAnswer", comment.getAnswer().getId(), "new_answer_comment");
+            }
+        }
+    }
+
+    private static Long idOf(User user) {
+        return user == null ? null : user.getId();
+    }
+}
@@ -0,0 +1,102 @@
+package io.hexlet.cv.component;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.SequenceGenerator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.hibernate.dialect.sequence.SequenceSupport;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Выдаёт id из последовательностей сущностей для вставок мимо Hibernate (JDBC batch, COPY).
+ * Схема та же, что у оптимизатора pooled-lo: nextval возвращает начало блока из allocationSize id,
+ * так что блоки, взятые здесь и в Hibernate, не пересекаются.
+ */
+@Component
+public class SequenceIdAllocator {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SequenceSupport sequenceSupport;
+    // последовательность -> allocationSize из @SequenceGenerator сущности
+    private final Map<String, Integer> allocationSizes = new HashMap<>();
+    private final Map<String, Block> blocks = new ConcurrentHashMap<>();
+
+    public SequenceIdAllocator(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.sequenceSupport = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect().getSequenceSupport();
+
+        for (var entity : entityManagerFactory.getMetamodel().getEntities()) {
+            for (var field : entity.getJavaType().getDeclaredFields()) {
+                var generator = field.getAnnotation(SequenceGenerator.class);
+                if (generator != null) {
+                    var sequence = generator.sequenceName().isEmpty() ? generator.name() : generator.sequenceName();
+                    allocationSizes.put(sequence, generator.allocationSize());
+                }
+            }
+        }
+    }
+
+    public long next(String sequence) {
+        return next(sequence, 1)[0];
+    }
+
+    public long[] next(String sequence, int count) {
+        int allocationSize = allocationSize(sequence);
+        long[] ids = new long[count];
+        var block = blocks.computeIfAbsent(sequence, s -> new Block());
+        synchronized (block) {
+            for (int i = 0; i < count; i++) {
+                if (block.next == block.end) {
+                    block.next = nextval(sequence);
+                    block.end = block.next + allocationSize;
+                }
+                ids[i] = block.next++;
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * SQL-выражение следующего значения для INSERT ... SELECT. Годится только для последовательностей
+     * с allocationSize = 1, иначе каждая строка заберёт целый блок.
+     */
+    public String nextValueExpression(String sequence) {
+        if (allocationSize(sequence) != 1) {
+            throw new IllegalArgumentException("Sequence " + sequence + " is pooled, allocate ids with next()");
+        }
+        return sequenceSupport.getSelectSequenceNextValString(sequence);
+    }
+
+    /**
+     * Переставляет последовательность на value, например после вставки строк с явными id.
+     */
+    public void restart(String sequence, long value) {
+        var block = blocks.computeIfAbsent(sequence, s -> new Block());
+        synchronized (block) {
+            jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + value);
+            block.next = 0;
+            block.end = 0;
+        }
+    }
+
+    private int allocationSize(String sequence) {
+        var allocationSize = allocationSizes.get(sequence);
+        if (allocationSize == null) {
+            throw new IllegalArgumentException("No entity is mapped to sequence " + sequence);
+        }
+        return allocationSize;
+    }
+
+    private long nextval(String sequence) {
+        return jdbcTemplate.queryForObject(sequenceSupport.getSequenceNextValString(sequence), Long.class);
+    }
+
+    private static final class Block {
+        private long next;
+        private long end;
+    }
+}
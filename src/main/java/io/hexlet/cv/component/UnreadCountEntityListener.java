@@ -0,0 +1,32 @@
+package io.hexlet.cv.component;
+
+import io.hexlet.cv.model.Notification;
+import io.hexlet.cv.service.UnreadNotificationCounter;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * Сбрасывает закэшированный счётчик непрочитанных при любом изменении уведомления через JPA.
+ * Массовое прочтение и пакетная запись уведомлений обновляют счётчик сами.
+ */
+@Component
+public class UnreadCountEntityListener {
+
+    private final ObjectProvider<UnreadNotificationCounter> unreadCounter;
+
+    public UnreadCountEntityListener(ObjectProvider<UnreadNotificationCounter> unreadCounter) {
+        this.unreadCounter = unreadCounter;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Notification notification) {
+        if (notification.getUser() != null) {
+            unreadCounter.getObject().invalidateAfterCommit(notification.getUser().getId());
+        }
+    }
+}
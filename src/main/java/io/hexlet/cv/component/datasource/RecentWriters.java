@@ -0,0 +1,52 @@
+package io.hexlet.cv.component.datasource;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.hexlet.cv.config.ReplicaProperties;
+import org.springframework.lang.Nullable;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+/**
+ * Пользователи, закоммитившие запись за последние read-your-writes-window.
+ * Их read-only транзакции идут на primary, чтобы не увидеть на отстающей реплике состояние до своей записи.
+ */
+public class RecentWriters implements TransactionExecutionListener {
+
+    private final Cache<String, Boolean> writers;
+
+    public RecentWriters(ReplicaProperties properties) {
+        this.writers = CacheBuilder.newBuilder()
+                .maximumSize(properties.getTrackedWriters())
+                .expireAfterWrite(properties.getReadYourWritesWindow())
+                .build();
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, @Nullable Throwable commitFailure) {
+        // вложенные участники коммитятся вместе с внешней транзакцией, её и учитываем
+        if (commitFailure == null && transaction.isNewTransaction() && !transaction.isReadOnly()) {
+            var writer = currentWriter();
+            if (writer != null) {
+                writers.put(writer, Boolean.TRUE);
+            }
+        }
+    }
+
+    public boolean wroteRecently() {
+        var writer = currentWriter();
+        return writer != null && writers.getIfPresent(writer) != null;
+    }
+
+    // анонимные записи (регистрация, вход) отдельного пользователя не имеют
+    private static String currentWriter() {
+        var authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
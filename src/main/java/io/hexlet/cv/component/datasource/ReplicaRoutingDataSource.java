@@ -0,0 +1,36 @@
+package io.hexlet.cv.component.datasource;
+
+import java.util.Map;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Отправляет @Transactional(readOnly = true) на реплику, всё остальное — на primary.
+ * Работает только за LazyConnectionDataSourceProxy (см. {@link #wrap}): менеджер транзакций берёт
+ * соединение раньше, чем выставляет признак read-only, и без ленивого прокси всё ушло бы на primary.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Route { PRIMARY, REPLICA }
+
+    private final RecentWriters recentWriters;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, RecentWriters recentWriters) {
+        this.recentWriters = recentWriters;
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    public static DataSource wrap(DataSource primary, DataSource replica, RecentWriters recentWriters) {
+        return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primary, replica, recentWriters));
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        boolean readOnly = TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        return readOnly && !recentWriters.wroteRecently() ? Route.REPLICA : Route.PRIMARY;
+    }
+}
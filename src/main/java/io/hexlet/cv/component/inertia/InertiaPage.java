@@ -0,0 +1,9 @@
+package io.hexlet.cv.component.inertia;
+
+import java.util.Map;
+
+/**
+ * Объект страницы Inertia. Сериализуется прямо в ответ {@link InertiaPageMessageConverter}.
+ */
+public record InertiaPage(String component, Map<String, Object> props, String url, String version) {
+}
@@ -0,0 +1,135 @@
+package io.hexlet.cv.component.inertia;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.CharacterEscapes;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Пишет {@link InertiaPage} в ответ потоково: JSON для Inertia-запросов и HTML-оболочку с data-page
+ * для первого захода. Промежуточной строки с JSON страницы нет, пиковая память на запрос меньше.
+ */
+@Component
+public class InertiaPageMessageConverter extends AbstractHttpMessageConverter<InertiaPage> {
+
+    public static final MediaType TEXT_HTML_UTF8 = new MediaType(MediaType.TEXT_HTML, StandardCharsets.UTF_8);
+
+    private static final String TEMPLATE = "templates/app.html";
+    private static final String PAGE_OBJECT_PLACEHOLDER = "@PageObject@";
+
+    private final ObjectMapper objectMapper;
+    private final ObservationRegistry observationRegistry;
+    // оболочка app.html до и после @PageObject@
+    private final byte[] templateHead;
+    private final byte[] templateTail;
+
+    public InertiaPageMessageConverter(ObjectMapper objectMapper, ObservationRegistry observationRegistry) {
+        super(MediaType.APPLICATION_JSON, MediaType.TEXT_HTML);
+        this.objectMapper = objectMapper;
+        this.observationRegistry = observationRegistry;
+
+        var template = readTemplate();
+        int placeholder = template.indexOf(PAGE_OBJECT_PLACEHOLDER);
+        if (placeholder < 0) {
+            throw new IllegalStateException(TEMPLATE + " has no " + PAGE_OBJECT_PLACEHOLDER + " placeholder");
+        }
+        this.templateHead = template.substring(0, placeholder).getBytes(StandardCharsets.UTF_8);
+        this.templateTail = template.substring(placeholder + PAGE_OBJECT_PLACEHOLDER.length())
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return InertiaPage.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected InertiaPage readInternal(Class<? extends InertiaPage> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Inertia page is write-only", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(InertiaPage page, HttpOutputMessage outputMessage) throws IOException {
+        var contentType = outputMessage.getHeaders().getContentType();
+        boolean html = contentType != null && MediaType.TEXT_HTML.isCompatibleWith(contentType);
+        var body = outputMessage.getBody();
+
+        Observation.createNotStarted("inertia.render", observationRegistry)
+                .lowCardinalityKeyValue("component", page.component())
+                .lowCardinalityKeyValue("format", html ? "html" : "json")
+                .observeChecked(() -> {
+                    if (html) {
+                        body.write(templateHead);
+                        writePage(page, body, HtmlAttributeEscapes.INSTANCE);
+                        body.write(templateTail);
+                    } else {
+                        writePage(page, body, null);
+                    }
+                });
+    }
+
+    private void writePage(InertiaPage page, OutputStream body, CharacterEscapes escapes) throws IOException {
+        try (var generator = objectMapper.getFactory().createGenerator(body, JsonEncoding.UTF8)) {
+            // поток ответа закрывает контейнер, генератор только сбрасывает буфер
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            if (escapes != null) {
+                generator.setCharacterEscapes(escapes);
+            }
+            objectMapper.writeValue(generator, page);
+        }
+    }
+
+    private static String readTemplate() {
+        try (var in = new ClassPathResource(TEMPLATE).getInputStream()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read " + TEMPLATE, e);
+        }
+    }
+
+    /**
+     * Экранирование JSON внутри атрибута data-page='...'. Апостроф и символы разметки пишутся
+     * юникод-последовательностями: браузер их не раскрывает, а JSON.parse на клиенте возвращает исходные символы.
+     */
+    private static final class HtmlAttributeEscapes extends CharacterEscapes {
+
+        private static final HtmlAttributeEscapes INSTANCE = new HtmlAttributeEscapes();
+
+        private final int[] asciiEscapes = standardAsciiEscapesForJSON();
+
+        private HtmlAttributeEscapes() {
+            for (char c : new char[]{'\'', '<', '>', '&'}) {
+                asciiEscapes[c] = ESCAPE_STANDARD;
+            }
+        }
+
+        @Override
+        public int[] getEscapeCodesForAscii() {
+            return asciiEscapes;
+        }
+
+        @Override
+        public SerializableString getEscapeSequence(int ch) {
+            return null;
+        }
+    }
+}
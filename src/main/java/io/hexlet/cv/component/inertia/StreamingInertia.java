@@ -0,0 +1,114 @@
+package io.hexlet.cv.component.inertia;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Замена {@code Inertia.render} для больших страниц: props не собираются в строку JSON,
+ * а пишутся генератором Jackson прямо в поток ответа при отдаче тела.
+ * Значение-{@link Supplier} вычисляется, только если prop попадает в ответ: всегда при полной отрисовке
+ * и по списку X-Inertia-Partial-Data при частичной перезагрузке. Все попавшие в ответ Supplier вычисляются
+ * в одной read-only транзакции (на реплике, если она есть), а не каждый в своей.
+ * Inertia-запрос со старой версией ассетов получает 409 с X-Inertia-Location, props при этом не вычисляются.
+ */
+@Component
+public class StreamingInertia {
+
+    public static final String INERTIA_HEADER = "X-Inertia";
+    public static final String PARTIAL_DATA_HEADER = "X-Inertia-Partial-Data";
+    public static final String PARTIAL_COMPONENT_HEADER = "X-Inertia-Partial-Component";
+    public static final String VERSION_HEADER = "X-Inertia-Version";
+    public static final String LOCATION_HEADER = "X-Inertia-Location";
+
+    private final String version;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public StreamingInertia(@Value("${app.inertia.version:}") String version,
+                            PlatformTransactionManager transactionManager) {
+        this.version = version.isEmpty() ? null : version;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public ResponseEntity<InertiaPage> render(String component, Map<String, Object> props) {
+        var request = ((ServletRequestAttributes) RequestContextHolder.currentRequestAttributes()).getRequest();
+        if (isStaleVersion(request)) {
+            // клиент со старыми ассетами сам делает полный заход по этому адресу
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .header(LOCATION_HEADER, url(request))
+                    .build();
+        }
+
+        var page = new InertiaPage(component, resolve(props, partialData(request, component)), url(request), version);
+
+        if (request.getHeader(INERTIA_HEADER) != null) {
+            return ResponseEntity.ok()
+                    .header(INERTIA_HEADER, "true")
+                    .header(HttpHeaders.VARY, INERTIA_HEADER)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(page);
+        }
+        // первый заход: HTML-оболочка из templates/app.html с объектом страницы в data-page
+        return ResponseEntity.ok()
+                .header(HttpHeaders.VARY, INERTIA_HEADER)
+                .contentType(InertiaPageMessageConverter.TEXT_HTML_UTF8)
+                .body(page);
+    }
+
+    private boolean isStaleVersion(HttpServletRequest request) {
+        return version != null
+                && request.getHeader(INERTIA_HEADER) != null
+                && HttpMethod.GET.matches(request.getMethod())
+                && !version.equals(request.getHeader(VERSION_HEADER));
+    }
+
+    private Map<String, Object> resolve(Map<String, Object> props, Set<String> only) {
+        Map<String, Object> selected = new LinkedHashMap<>();
+        props.forEach((key, value) -> {
+            if (only == null || only.contains(key)) {
+                selected.put(key, value);
+            }
+        });
+        // страница без ленивых props транзакцию не открывает
+        if (selected.values().stream().noneMatch(Supplier.class::isInstance)) {
+            return selected;
+        }
+        return readOnlyTransaction.execute(status -> {
+            selected.replaceAll((key, value) -> value instanceof Supplier<?> supplier ? supplier.get() : value);
+            return selected;
+        });
+    }
+
+    // null — полная отрисовка; частичная только для того же компонента, иначе клиент ждёт всю страницу
+    private static Set<String> partialData(HttpServletRequest request, String component) {
+        var data = request.getHeader(PARTIAL_DATA_HEADER);
+        if (data == null || !component.equals(request.getHeader(PARTIAL_COMPONENT_HEADER))) {
+            return null;
+        }
+        return Arrays.stream(data.split(","))
+                .map(String::trim)
+                .filter(key -> !key.isEmpty())
+                .collect(Collectors.toSet());
+    }
+
+    private static String url(HttpServletRequest request) {
+        var query = request.getQueryString();
+        return query == null ? request.getRequestURI() : request.getRequestURI() + "?" + query;
+    }
+}
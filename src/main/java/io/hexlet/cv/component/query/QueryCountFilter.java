@@ -0,0 +1,76 @@
+package io.hexlet.cv.component.query;
+
+import io.hexlet.cv.config.QueryCountProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Считает SQL каждого запроса. В dev число операторов и время в базе уходят в заголовки ответа,
+ * запросы сверх порогов пишутся в лог с самыми частыми отпечатками — так N+1 видно без профайлера.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    public static final String COUNT_HEADER = "X-Query-Count";
+    public static final String TIME_HEADER = "X-Query-Time-Ms";
+
+    private final QueryCountProperties properties;
+
+    public QueryCountFilter(QueryCountProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        var stats = QueryCounter.start();
+        try {
+            // заголовки ставятся в момент фиксации ответа, позже их уже не добавить
+            var target = properties.isHeaders() ? new StatsHeaderResponse(response, stats) : response;
+            chain.doFilter(request, target);
+            // ответ без тела или без явного flush ещё не зафиксирован
+            if (properties.isHeaders() && !response.isCommitted()) {
+                setHeaders(response, stats);
+            }
+        } finally {
+            QueryCounter.stop(stats);
+            if (stats.statements() > properties.getWarnStatements()
+                    || stats.dbTime().compareTo(properties.getWarnDbTime()) > 0) {
+                log.warn("{} {}: {} statements, {} ms in DB, top fingerprints {}", request.getMethod(),
+                        request.getRequestURI(), stats.statements(), stats.dbTime().toMillis(),
+                        stats.topFingerprints(properties.getTopFingerprints()));
+            }
+        }
+    }
+
+    private static void setHeaders(HttpServletResponse response, QueryStats stats) {
+        response.setHeader(COUNT_HEADER, String.valueOf(stats.statements()));
+        response.setHeader(TIME_HEADER, String.valueOf(stats.dbTime().toMillis()));
+    }
+
+    private static final class StatsHeaderResponse extends OnCommittedResponseWrapper {
+
+        private final QueryStats stats;
+
+        StatsHeaderResponse(HttpServletResponse response, QueryStats stats) {
+            super(response);
+            this.stats = stats;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            setHeaders((HttpServletResponse) getResponse(), stats);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package io.hexlet.cv.component.query;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Видит каждый SQL, который готовит Hibernate, и отдаёт его в QueryCounter без изменений.
+ */
+public class QueryCountInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        QueryCounter.onStatement(sql);
+        return sql;
+    }
+}
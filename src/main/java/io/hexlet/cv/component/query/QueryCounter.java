@@ -0,0 +1,60 @@
+package io.hexlet.cv.component.query;
+
+/**
+ * Счётчик SQL текущего потока. Замеры вкладываются: операторы внутреннего попадают и во внешний,
+ * поэтому помощник тестов работает и под QueryCountFilter.
+ * Считается всё, что идёт через Hibernate. JdbcTemplate ходит мимо сессии и сюда не попадает:
+ * пакетные писатели (NotificationService, EventRecorder, FeedService и др.) в X-Query-Count, пороги
+ * QueryCountFilter и assertStatementsAtMost не входят, их нагрузку смотреть по метрикам пула и самих писателей.
+ * Время операторов меряется всегда, медленные уходят в {@link SlowQueryLog}.
+ */
+public final class QueryCounter {
+
+    private static final ThreadLocal<QueryStats> CURRENT = new ThreadLocal<>();
+    // последний подготовленный SQL и начало его выполнения, без аллокаций на каждый оператор
+    private static final ThreadLocal<Statement> STATEMENT = ThreadLocal.withInitial(Statement::new);
+
+    private QueryCounter() {
+    }
+
+    public static QueryStats start() {
+        var stats = new QueryStats(CURRENT.get());
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static void stop(QueryStats stats) {
+        if (stats.parent() == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(stats.parent());
+        }
+    }
+
+    static void onStatement(String sql) {
+        STATEMENT.get().sql = sql;
+        var stats = CURRENT.get();
+        if (stats != null) {
+            stats.recordStatement(sql);
+        }
+    }
+
+    static void onExecuteStart() {
+        STATEMENT.get().startNanos = System.nanoTime();
+    }
+
+    static void onExecuteEnd() {
+        var statement = STATEMENT.get();
+        long elapsed = System.nanoTime() - statement.startNanos;
+        var stats = CURRENT.get();
+        if (stats != null) {
+            stats.recordTime(elapsed);
+        }
+        SlowQueryLog.record(statement.sql, elapsed);
+    }
+
+    private static final class Statement {
+        private String sql;
+        private long startNanos;
+    }
+}
@@ -0,0 +1,77 @@
+package io.hexlet.cv.component.query;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * SQL-операторы одного запроса или замера: количество, время в базе и гистограмма по отпечаткам.
+ * Отпечаток — SQL без литералов, так N+1 виден как один отпечаток с большим счётчиком.
+ * На каждый оператор считается только сам текст SQL (Hibernate отдаёт одни и те же строки с ?),
+ * регулярки отпечатков гоняются лишь при выводе {@link #topFingerprints(int)} — в логе или в сообщении теста.
+ */
+public final class QueryStats {
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final QueryStats parent;
+    private final Map<String, Integer> statementsBySql = new HashMap<>();
+    private int statements;
+    private long dbNanos;
+
+    QueryStats(QueryStats parent) {
+        this.parent = parent;
+    }
+
+    QueryStats parent() {
+        return parent;
+    }
+
+    void recordStatement(String sql) {
+        for (var stats = this; stats != null; stats = stats.parent) {
+            stats.statements++;
+            stats.statementsBySql.merge(sql, 1, Integer::sum);
+        }
+    }
+
+    void recordTime(long nanos) {
+        for (var stats = this; stats != null; stats = stats.parent) {
+            stats.dbNanos += nanos;
+        }
+    }
+
+    public int statements() {
+        return statements;
+    }
+
+    public Duration dbTime() {
+        return Duration.ofNanos(dbNanos);
+    }
+
+    /**
+     * Самые частые отпечатки по убыванию счётчика.
+     */
+    public Map<String, Integer> topFingerprints(int limit) {
+        Map<String, Integer> fingerprints = new HashMap<>();
+        statementsBySql.forEach((sql, count) -> fingerprints.merge(fingerprint(sql), count, Integer::sum));
+
+        Map<String, Integer> top = new LinkedHashMap<>();
+        fingerprints.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .limit(limit)
+                .forEach(entry -> top.put(entry.getKey(), entry.getValue()));
+        return top;
+    }
+
+    static String fingerprint(String sql) {
+        var normalized = STRING_LITERAL.matcher(sql).replaceAll("?");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = IN_LIST.matcher(normalized).replaceAll("(?)");
+        return WHITESPACE.matcher(normalized).replaceAll(" ").trim();
+    }
+}
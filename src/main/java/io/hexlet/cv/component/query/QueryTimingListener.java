@@ -0,0 +1,30 @@
+package io.hexlet.cv.component.query;
+
+import org.hibernate.BaseSessionEventListener;
+
+/**
+ * Время выполнения операторов в базе. Hibernate создаёт экземпляр на каждую сессию
+ * по имени класса из hibernate.session.events.auto.
+ */
+public class QueryTimingListener extends BaseSessionEventListener {
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        QueryCounter.onExecuteStart();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        QueryCounter.onExecuteEnd();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        QueryCounter.onExecuteStart();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        QueryCounter.onExecuteEnd();
+    }
+}
@@ -0,0 +1,34 @@
+package io.hexlet.cv.component.query;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Выборочный лог медленных SQL вместо show-sql. Пишется отпечаток оператора: литералы заменены на ?,
+ * так что значения из запроса в лог не попадают. Сам вывод идёт через асинхронный аппендер (logback-spring.xml).
+ */
+public final class SlowQueryLog {
+
+    private static final Logger LOG = LoggerFactory.getLogger("io.hexlet.cv.slow-query");
+
+    private static volatile long thresholdNanos = Long.MAX_VALUE;
+    private static volatile double sampleRate;
+
+    private SlowQueryLog() {
+    }
+
+    public static void configure(Duration threshold, double rate) {
+        thresholdNanos = threshold.toNanos();
+        sampleRate = rate;
+    }
+
+    static void record(String sql, long nanos) {
+        // при деградации базы медленным становится всё подряд, выборка не даёт логу утопить приложение
+        if (nanos < thresholdNanos || sql == null || ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+        LOG.warn("{} ms: {}", Duration.ofNanos(nanos).toMillis(), QueryStats.fingerprint(sql));
+    }
+}
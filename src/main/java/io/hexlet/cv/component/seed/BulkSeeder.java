@@ -0,0 +1,141 @@
+package io.hexlet.cv.component.seed;
+
+import io.hexlet.cv.component.SequenceIdAllocator;
+import io.hexlet.cv.config.SeedProperties;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Массовый засев синтетических данных для нагрузочных стендов (app.seed.enabled=true).
+ * Пространство id каждой таблицы режется на партиции, партиции пишутся параллельно.
+ * Генератор партиции инициализируется от (seed, таблица, номер партиции), поэтому результат
+ * не зависит от числа потоков и повторяется от запуска к запуску.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.seed", name = "enabled", havingValue = "true")
+public class BulkSeeder {
+
+    private static final String RECONCILE_ANSWERS_SQL = """
+            UPDATE resumes SET answers_count =
+                (SELECT COUNT(*) FROM resume_answers a WHERE a.resume_id = resumes.id)
+            WHERE id > ?
+            """;
+
+    private static final String RECONCILE_LIKES_SQL = """
+            UPDATE resume_answers SET likes_count =
+                (SELECT COUNT(*) FROM resume_answer_likes l WHERE l.answer_id = resume_answers.id)
+            WHERE id > ?
+            """;
+
+    private final SeedProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSource dataSource;
+    private final PasswordEncoder passwordEncoder;
+    private final SequenceIdAllocator sequenceIdAllocator;
+
+    public BulkSeeder(SeedProperties properties, JdbcTemplate jdbcTemplate, DataSource dataSource,
+                      PasswordEncoder passwordEncoder, SequenceIdAllocator sequenceIdAllocator) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSource = dataSource;
+        this.passwordEncoder = passwordEncoder;
+        this.sequenceIdAllocator = sequenceIdAllocator;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() throws InterruptedException {
+        validate();
+        boolean postgres = isPostgres();
+        // bcrypt на каждую строку занял бы больше, чем сам засев
+        var tables = SeedTables.build(properties, passwordEncoder.encode("password"), this::maxId);
+        var writer = new SeedWriter(dataSource, properties.getBatchSize(), postgres && properties.isCopy());
+
+        var executor = Executors.newFixedThreadPool(properties.getThreads());
+        try {
+            for (var table : tables) {
+                long started = System.nanoTime();
+                write(executor, writer, table);
+                // id писались явно, последовательность таблицы об этом не знает
+                sequenceIdAllocator.restart(table.name() + "_seq", maxId(table.name()) + 1);
+                log.info("Seeded {} rows into {} in {} ms", table.count(), table.name(),
+                        (System.nanoTime() - started) / 1_000_000);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        jdbcTemplate.update(RECONCILE_ANSWERS_SQL, tables.get(1).base());
+        jdbcTemplate.update(RECONCILE_LIKES_SQL, tables.get(2).base());
+        if (postgres) {
+            // без свежей статистики планировщик строит планы под пустые таблицы
+            tables.forEach(table -> jdbcTemplate.execute("ANALYZE " + table.name()));
+        }
+    }
+
+    private void write(ExecutorService executor, SeedWriter writer, SeedTable table)
+            throws InterruptedException {
+        long partitionSize = properties.getPartitionSize();
+        List<Callable<Void>> partitions = new ArrayList<>();
+        for (long from = 0, partition = 0; from < table.count(); from += partitionSize, partition++) {
+            long start = from;
+            long end = Math.min(table.count(), from + partitionSize);
+            long seed = partitionSeed(table.name(), partition);
+            partitions.add(() -> {
+                writer.write(table, start, end, seed);
+                return null;
+            });
+        }
+
+        for (var future : executor.invokeAll(partitions)) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Failed to seed " + table.name(), e.getCause());
+            }
+        }
+    }
+
+    private long partitionSeed(String table, long partition) {
+        long hash = properties.getSeed();
+        hash = hash * 31 + table.hashCode();
+        return hash * 31 + partition;
+    }
+
+    private void validate() {
+        long users = properties.getUsers();
+        long resumes = properties.getResumes();
+        long answers = properties.getAnswers();
+        if (users <= 0 || resumes <= 0 || answers <= 0) {
+            throw new IllegalStateException("app.seed: users, resumes and answers must be positive");
+        }
+        // иначе пары (пользователь, резюме) и (ответ, пользователь) начнут повторяться
+        if (answers / users >= resumes || properties.getLikes() / answers >= users
+                || properties.getAnswerComments() / answers >= users) {
+            throw new IllegalStateException("app.seed: too many answers, likes or comments for given users");
+        }
+    }
+
+    private long maxId(String table) {
+        Long max = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+        return max == null ? 0 : max;
+    }
+
+    private boolean isPostgres() {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName())));
+    }
+}
@@ -0,0 +1,22 @@
+package io.hexlet.cv.component.seed;
+
+import java.util.List;
+import java.util.Random;
+import net.datafaker.Faker;
+
+/**
+ * Засеваемая таблица: колонки в порядке значений строки и генератор строки по её номеру.
+ *
+ * @param base наибольший id в таблице до засева
+ */
+record SeedTable(String name, List<String> columns, long count, long base, RowGenerator generator) {
+
+    /**
+     * Генератор строки. Вся случайность берётся из faker и random партиции,
+     * поэтому при том же seed и размере партиции строки повторяются.
+     */
+    @FunctionalInterface
+    interface RowGenerator {
+        Object[] row(long index, Faker faker, Random random);
+    }
+}
@@ -0,0 +1,157 @@
+package io.hexlet.cv.component.seed;
+
+import io.hexlet.cv.config.SeedProperties;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.function.ToLongFunction;
+
+/**
+ * Таблицы для массового засева и их генераторы.
+ * Внешние ключи вычисляются из номера строки, без чтения из базы: партиции независимы
+ * и не нарушают уникальные индексы (один ответ пользователя на резюме, один лайк пользователя на ответ).
+ */
+final class SeedTables {
+
+    // даты отсчитываются от фиксированного момента, а не от now(), иначе повторный засев даст другие данные
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private static final long THREE_YEARS_SECONDS = 3L * 365 * 24 * 3600;
+
+    private static final List<String> CITIES = List.of("Москва", "Санкт-Петербург", "Казань", "Новосибирск",
+            "Екатеринбург", "Алматы", "Минск", "Ташкент", "Тбилиси", "Белград");
+    private static final List<String> SKILLS = List.of("Java", "Spring Boot", "PostgreSQL", "Kotlin", "Python",
+            "Django", "JavaScript", "TypeScript", "React", "Go", "Docker", "Kubernetes", "Kafka", "Redis", "SQL");
+    private static final List<String> ENGLISH = List.of("A1", "A2", "B1", "B2", "C1");
+
+    private SeedTables() {
+    }
+
+    /**
+     * Таблицы в порядке засева: каждая ссылается только на предыдущие.
+     *
+     * @param maxId наибольший id в таблице до засева, новые строки идут после него
+     */
+    static List<SeedTable> build(SeedProperties properties, String encryptedPassword, ToLongFunction<String> maxId) {
+        long userBase = maxId.applyAsLong("users");
+        long resumeBase = maxId.applyAsLong("resumes");
+        long answerBase = maxId.applyAsLong("resume_answers");
+        long userCount = properties.getUsers();
+        long resumeCount = properties.getResumes();
+        long answerCount = properties.getAnswers();
+
+        var users = new SeedTable("users",
+                List.of("id", "email", "first_name", "last_name", "encrypted_password", "role", "state", "locale",
+                        "sign_in_count", "created_at", "updated_at"),
+                userCount, userBase, (index, faker, random) -> {
+                    long id = userBase + index + 1;
+                    var createdAt = timestamp(random);
+                    return new Object[]{id, "seed-" + id + "@example.com", faker.name().firstName(),
+                        faker.name().lastName(), encryptedPassword, "candidate", "active",
+                        random.nextInt(5) == 0 ? "en" : "ru", random.nextInt(200), createdAt, createdAt};
+                });
+
+        var resumes = new SeedTable("resumes",
+                List.of("id", "name", "user_id", "state", "summary", "skills_description", "city", "relocation",
+                        "english_fluency", "locale", "answers_count", "impressions_count", "created_at",
+                        "updated_at"),
+                resumeCount, resumeBase, (index, faker, random) -> {
+                    var createdAt = timestamp(random);
+                    return new Object[]{resumeBase + index + 1, faker.job().title(),
+                        userBase + index % userCount + 1, random.nextInt(10) == 0 ? "draft" : "published",
+                        faker.lorem().sentence(12), skills(random), pick(CITIES, random),
+                        random.nextBoolean() ? "да" : "нет", pick(ENGLISH, random), "ru", 0, random.nextInt(1_000),
+                        createdAt, createdAt};
+                });
+
+        var answers = new SeedTable("resume_answers",
+                List.of("id", "resume_id", "user_id", "content", "likes_count", "created_at", "updated_at"),
+                answerCount, answerBase, (index, faker, random) -> {
+                    var createdAt = timestamp(random);
+                    return new Object[]{answerBase + index + 1,
+                        resumeBase + answerResume(index, userCount, resumeCount) + 1,
+                        userBase + index % userCount + 1, faker.lorem().paragraph(3), 0, createdAt, createdAt};
+                });
+
+        long likeBase = maxId.applyAsLong("resume_answer_likes");
+        var likes = new SeedTable("resume_answer_likes",
+                List.of("id", "resume_id", "answer_id", "user_id", "created_at", "updated_at"),
+                properties.getLikes(), likeBase, (index, faker, random) -> {
+                    long answer = index % answerCount;
+                    long user = otherUser(answer % userCount, index / answerCount, userCount);
+                    var createdAt = timestamp(random);
+                    return new Object[]{likeBase + index + 1,
+                        resumeBase + answerResume(answer, userCount, resumeCount) + 1, answerBase + answer + 1,
+                        userBase + user + 1, createdAt, createdAt};
+                });
+
+        long answerCommentBase = maxId.applyAsLong("resume_answer_comments");
+        var answerComments = new SeedTable("resume_answer_comments",
+                List.of("id", "resume_id", "answer_id", "user_id", "answer_user_id", "content", "created_at",
+                        "updated_at"),
+                properties.getAnswerComments(), answerCommentBase, (index, faker, random) -> {
+                    long answer = index % answerCount;
+                    long author = answer % userCount;
+                    var createdAt = timestamp(random);
+                    return new Object[]{answerCommentBase + index + 1,
+                        resumeBase + answerResume(answer, userCount, resumeCount) + 1, answerBase + answer + 1,
+                        userBase + otherUser(author, index / answerCount, userCount) + 1, userBase + author + 1,
+                        faker.lorem().sentence(10), createdAt, createdAt};
+                });
+
+        long resumeCommentBase = maxId.applyAsLong("resume_comments");
+        var resumeComments = new SeedTable("resume_comments",
+                List.of("id", "resume_id", "user_id", "content", "created_at", "updated_at"),
+                properties.getResumeComments(), resumeCommentBase, (index, faker, random) -> {
+                    var createdAt = timestamp(random);
+                    return new Object[]{resumeCommentBase + index + 1, resumeBase + index % resumeCount + 1,
+                        userBase + random.nextLong(userCount) + 1, faker.lorem().sentence(15), createdAt, createdAt};
+                });
+
+        long impressionBase = maxId.applyAsLong("impressions");
+        var impressions = new SeedTable("impressions",
+                List.of("id", "impressionable_type", "impressionable_id", "user_id", "controller_name",
+                        "action_name", "request_hash", "ip_address", "session_hash", "message", "created_at",
+                        "updated_at"),
+                properties.getImpressions(), impressionBase, (index, faker, random) -> {
+                    // примерно треть просмотров анонимные
+                    Long user = random.nextInt(3) == 0 ? null : userBase + random.nextLong(userCount) + 1;
+                    var createdAt = timestamp(random);
+                    return new Object[]{impressionBase + index + 1, "Resume",
+                        resumeBase + random.nextLong(resumeCount) + 1, user, "resumes", "show",
+                        Long.toHexString(random.nextLong()), faker.internet().ipV4Address(),
+                        Long.toHexString(random.nextLong()), null, createdAt, createdAt};
+                });
+
+        return List.of(users, resumes, answers, likes, answerComments, resumeComments, impressions);
+    }
+
+    // j-й ответ пользователя u идёт на резюме u + j + 1, так пара (пользователь, резюме) не повторяется
+    static long answerResume(long answerIndex, long userCount, long resumeCount) {
+        return (answerIndex % userCount + answerIndex / userCount + 1) % resumeCount;
+    }
+
+    // j-й лайк или комментарий к ответу ставит j-й пользователь после автора
+    static long otherUser(long author, long ordinal, long userCount) {
+        return (author + ordinal + 1) % userCount;
+    }
+
+    private static LocalDateTime timestamp(Random random) {
+        return EPOCH.minusSeconds(random.nextLong(THREE_YEARS_SECONDS));
+    }
+
+    private static String skills(Random random) {
+        int count = 3 + random.nextInt(5);
+        var builder = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(pick(SKILLS, random));
+        }
+        return builder.toString();
+    }
+
+    private static String pick(List<String> values, Random random) {
+        return values.get(random.nextInt(values.size()));
+    }
+}
@@ -0,0 +1,105 @@
+package io.hexlet.cv.component.seed;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import javax.sql.DataSource;
+import net.datafaker.Faker;
+import org.postgresql.PGConnection;
+
+/**
+ * Пишет одну партицию таблицы отдельным соединением.
+ * На PostgreSQL строки уходят через COPY в CSV, на остальных базах — JDBC batch-вставкой.
+ */
+final class SeedWriter {
+
+    private final DataSource dataSource;
+    private final int batchSize;
+    private final boolean copy;
+
+    SeedWriter(DataSource dataSource, int batchSize, boolean copy) {
+        this.dataSource = dataSource;
+        this.batchSize = batchSize;
+        this.copy = copy;
+    }
+
+    void write(SeedTable table, long from, long to, long seed) throws SQLException, IOException {
+        var random = new Random(seed);
+        var faker = new Faker(random);
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            if (copy) {
+                copy(connection, table, from, to, faker, random);
+            } else {
+                insert(connection, table, from, to, faker, random);
+            }
+            connection.commit();
+        }
+    }
+
+    private void insert(Connection connection, SeedTable table, long from, long to, Faker faker, Random random)
+            throws SQLException {
+        var placeholders = String.join(", ", Collections.nCopies(table.columns().size(), "?"));
+        var sql = "INSERT INTO " + table.name() + " (" + String.join(", ", table.columns()) + ") VALUES ("
+                + placeholders + ")";
+
+        try (var statement = connection.prepareStatement(sql)) {
+            int pending = 0;
+            for (long index = from; index < to; index++) {
+                Object[] row = table.generator().row(index, faker, random);
+                for (int i = 0; i < row.length; i++) {
+                    statement.setObject(i + 1, row[i]);
+                }
+                statement.addBatch();
+                if (++pending == batchSize) {
+                    statement.executeBatch();
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                statement.executeBatch();
+            }
+        }
+    }
+
+    private void copy(Connection connection, SeedTable table, long from, long to, Faker faker, Random random)
+            throws SQLException, IOException {
+        var copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+        var sql = "COPY " + table.name() + " (" + String.join(", ", table.columns()) + ")"
+                + " FROM STDIN WITH (FORMAT csv)";
+
+        List<Object[]> rows = new ArrayList<>(batchSize);
+        for (long index = from; index < to; index++) {
+            rows.add(table.generator().row(index, faker, random));
+            if (rows.size() == batchSize || index == to - 1) {
+                copyManager.copyIn(sql, new StringReader(toCsv(rows)));
+                rows.clear();
+            }
+        }
+    }
+
+    static String toCsv(List<Object[]> rows) {
+        var csv = new StringBuilder(rows.size() * 128);
+        for (Object[] row : rows) {
+            for (int i = 0; i < row.length; i++) {
+                if (i > 0) {
+                    csv.append(',');
+                }
+                // пустое поле без кавычек COPY читает как NULL
+                if (row[i] instanceof String value) {
+                    csv.append('"').append(value.replace("\"", "\"\"")).append('"');
+                } else if (row[i] != null) {
+                    csv.append(row[i]);
+                }
+            }
+            csv.append('\n');
+        }
+        return csv.toString();
+    }
+}
@@ -0,0 +1,19 @@
+package io.hexlet.cv.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "app.events")
+@Getter
+@Setter
+public class EventProperties {
+    private int queueCapacity = 10_000;
+    private int batchSize = 500;
+    private Duration flushInterval = Duration.ofMillis(500);
+    private Duration relayInterval = Duration.ofMinutes(1);
+    private Duration relayDelay = Duration.ofSeconds(30);
+}
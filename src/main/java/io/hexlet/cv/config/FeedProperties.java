@@ -0,0 +1,20 @@
+package io.hexlet.cv.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "app.feed")
+@Getter
+@Setter
+public class FeedProperties {
+    private Duration pollInterval = Duration.ofSeconds(1);
+    private int batchSize = 500;
+    private int capacity = 500;
+    private int fanoutLimit = 1_000;
+    private int pageSize = 20;
+    private Duration gapTimeout = Duration.ofSeconds(10);
+}
@@ -0,0 +1,23 @@
+package io.hexlet.cv.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "app.notifications")
+@Getter
+@Setter
+public class NotificationProperties {
+    private int queueCapacity = 10_000;
+    private int batchSize = 500;
+    private Duration coalesceWindow = Duration.ofSeconds(1);
+    private Duration offerTimeout = Duration.ofMillis(200);
+    private long unreadCacheSize = 100_000;
+    private Duration unreadCacheTtl = Duration.ofMinutes(10);
+    private Duration streamTimeout = Duration.ofMinutes(30);
+    private Duration heartbeatInterval = Duration.ofSeconds(25);
+    private int replayLimit = 100;
+}
@@ -0,0 +1,33 @@
+package io.hexlet.cv.config;
+
+import io.hexlet.cv.component.query.QueryCountInspector;
+import io.hexlet.cv.component.query.QueryTimingListener;
+import io.hexlet.cv.component.query.SlowQueryLog;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Счётчик SQL запроса и лог медленных операторов (app.query-count, app.slow-query) висят на сессии Hibernate.
+ * Операторы, которые идут через JdbcTemplate мимо сессии (EventRecorder, FeedService, NotificationService,
+ * SequenceIdAllocator, BulkSeeder), в них не видны: их время видно только в метриках и спанах
+ * datasource-micrometer.
+ */
+@Configuration
+public class QueryCountConfig {
+
+    // слушатели создаёт Hibernate по имени класса, поэтому настройки лога передаются статически
+    public QueryCountConfig(SlowQueryProperties slowQueryProperties) {
+        SlowQueryLog.configure(slowQueryProperties.getThreshold(), slowQueryProperties.getSampleRate());
+    }
+
+    // подключает счётчик SQL к каждой сессии Hibernate
+    @Bean
+    HibernatePropertiesCustomizer queryCountCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, new QueryCountInspector());
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, QueryTimingListener.class.getName());
+        };
+    }
+}
@@ -0,0 +1,18 @@
+package io.hexlet.cv.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "app.query-count")
+@Getter
+@Setter
+public class QueryCountProperties {
+    private boolean headers = false;
+    private int warnStatements = 30;
+    private Duration warnDbTime = Duration.ofMillis(500);
+    private int topFingerprints = 5;
+}
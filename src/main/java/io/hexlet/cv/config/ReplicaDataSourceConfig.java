@@ -0,0 +1,46 @@
+package io.hexlet.cv.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.hexlet.cv.component.datasource.RecentWriters;
+import io.hexlet.cv.component.datasource.ReplicaRoutingDataSource;
+import javax.sql.DataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * Пул реплики рядом с основным, включается заданным app.datasource.replica.jdbc-url.
+ * Без него остаётся обычный DataSource из spring.datasource.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.replica", name = "jdbc-url")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("app.datasource.replica")
+    HikariDataSource replicaDataSource() {
+        return new HikariDataSource();
+    }
+
+    @Bean
+    RecentWriters recentWriters(ReplicaProperties properties) {
+        return new RecentWriters(properties);
+    }
+
+    // JdbcTemplate, JPA и Flyway видят только его, миграции идут мимо read-only и попадают на primary
+    @Bean
+    @Primary
+    DataSource dataSource(HikariDataSource primaryDataSource, HikariDataSource replicaDataSource,
+                          RecentWriters recentWriters) {
+        return ReplicaRoutingDataSource.wrap(primaryDataSource, replicaDataSource, recentWriters);
+    }
+}
@@ -0,0 +1,17 @@
+package io.hexlet.cv.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "app.datasource")
+@Getter
+@Setter
+public class ReplicaProperties {
+    // сколько после своей записи пользователь читает с primary, с запасом к отставанию реплики
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+    private long trackedWriters = 100_000;
+}
@@ -1,6 +1,7 @@
 package io.hexlet.cv.config;
 
 import io.hexlet.cv.service.CustomUserDetailsService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.convert.converter.Converter;
@@ -20,6 +21,7 @@ import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 import org.springframework.security.oauth2.server.resource.web.BearerTokenResolver;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 
 import java.util.Collection;
 import java.util.HashSet;
@@ -35,12 +37,22 @@ public class SecurityConfig {
     SecurityFilterChain security(HttpSecurity http,
                                  JwtDecoder jwtDecoder,
                                  BearerTokenResolver cookieTokenResolver,
-                                 Converter<Jwt, ? extends AbstractAuthenticationToken> jwtAuthConverter)
+                                 Converter<Jwt, ? extends AbstractAuthenticationToken> jwtAuthConverter,
+                                 @Value("${management.server.port:-1}") int managementPort)
             throws Exception {
+        // Prometheus ходит без токена только на отдельный порт actuator во внутренней сети (prod)
+        RequestMatcher internalScrape = request -> request.getLocalPort() == managementPort
+                && "/actuator/prometheus".equals(request.getRequestURI());
         http
                 .csrf(csrf -> csrf.disable())
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/admin/**", "/*/admin/**", "/*/admin/").hasRole("ADMIN")
+                        .requestMatchers("/*/notifications", "/*/notifications/**").authenticated()
+                        .requestMatchers("/*/feed").authenticated()
+                        .requestMatchers("/api/resumes/*/vacancies", "/api/vacancies/*/resumes").authenticated()
+                        .requestMatchers(internalScrape).permitAll()
+                        .requestMatchers("/actuator/cacheregions", "/actuator/metrics/**", "/actuator/prometheus")
+                        .hasRole("ADMIN")
                         .anyRequest().permitAll()
                 )
                 .sessionManagement(sm -> sm.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
@@ -0,0 +1,28 @@
+package io.hexlet.cv.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "app.seed")
+@Getter
+@Setter
+public class SeedProperties {
+    private boolean enabled = false;
+    private long seed = 42;
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private int partitionSize = 100_000;
+    private int batchSize = 5_000;
+    // COPY используется только на PostgreSQL, на остальных базах всегда JDBC batch
+    private boolean copy = true;
+
+    private long users = 1_000_000;
+    private long resumes = 3_000_000;
+    private long answers = 20_000_000;
+    private long likes = 20_000_000;
+    private long answerComments = 20_000_000;
+    private long resumeComments = 3_000_000;
+    private long impressions = 50_000_000;
+}
@@ -0,0 +1,16 @@
+package io.hexlet.cv.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "app.slow-query")
+@Getter
+@Setter
+public class SlowQueryProperties {
+    private Duration threshold = Duration.ofMillis(200);
+    private double sampleRate = 0.2;
+}
@@ -0,0 +1,18 @@
+package io.hexlet.cv.config;
+
+import io.opentelemetry.exporter.logging.LoggingSpanExporter;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class TracingConfig {
+
+    // локально спаны пишутся в лог, в prod их отправляет OTLP-экспортёр при заданном management.otlp.tracing.endpoint
+    @Bean
+    @ConditionalOnProperty(prefix = "app.tracing", name = "log-spans", havingValue = "true")
+    SpanExporter loggingSpanExporter() {
+        return LoggingSpanExporter.create();
+    }
+}
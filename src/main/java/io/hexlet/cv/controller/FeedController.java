@@ -0,0 +1,40 @@
+package io.hexlet.cv.controller;
+
+import io.github.inertia4j.spring.Inertia;
+import io.hexlet.cv.config.FeedProperties;
+import io.hexlet.cv.service.FlashPropsService;
+import io.hexlet.cv.service.feed.FeedService;
+import io.hexlet.cv.util.UserUtils;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.AllArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+
+@Controller
+@AllArgsConstructor
+public class FeedController {
+
+    private final Inertia inertia;
+    private final FlashPropsService flashPropsService;
+    private final FeedService feedService;
+    private final FeedProperties feedProperties;
+    private final UserUtils userUtils;
+
+    @GetMapping("/{locale}/feed")
+    public ResponseEntity<?> index(@PathVariable String locale,
+                                   @RequestParam(required = false) Long before,
+                                   HttpServletRequest request) {
+        int limit = feedProperties.getPageSize();
+        var feed = feedService.page(userUtils.getCurrentUserId(), before, limit);
+
+        var props = flashPropsService.buildProps(locale, request);
+        props.put("feed", feed);
+        // курсор следующей страницы, null — дальше записей нет
+        props.put("nextBefore", feed.size() < limit ? null : feed.get(feed.size() - 1).eventId());
+
+        return inertia.render("Feed/Index", props);
+    }
+}
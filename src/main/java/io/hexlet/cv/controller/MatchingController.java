@@ -0,0 +1,33 @@
+package io.hexlet.cv.controller;
+
+import io.hexlet.cv.service.matching.MatchingIndex.Match;
+import io.hexlet.cv.service.matching.MatchingService;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@AllArgsConstructor
+@RequestMapping("/api")
+public class MatchingController {
+
+    private final MatchingService matchingService;
+
+    // подходящие вакансии для резюме, из индекса в памяти
+    @GetMapping("/resumes/{id}/vacancies")
+    public List<Match> vacanciesForResume(@PathVariable Long id,
+                                          @RequestParam(defaultValue = "10") int limit) {
+        return matchingService.findVacanciesForResume(id, limit);
+    }
+
+    // подходящие резюме для вакансии
+    @GetMapping("/vacancies/{id}/resumes")
+    public List<Match> resumesForVacancy(@PathVariable Long id,
+                                         @RequestParam(defaultValue = "10") int limit) {
+        return matchingService.findResumesForVacancy(id, limit);
+    }
+}
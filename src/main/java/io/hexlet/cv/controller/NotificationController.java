@@ -0,0 +1,60 @@
+package io.hexlet.cv.controller;
+
+import io.github.inertia4j.spring.Inertia;
+import io.hexlet.cv.mapper.NotificationMapper;
+import io.hexlet.cv.repository.NotificationRepository;
+import io.hexlet.cv.service.FlashPropsService;
+import io.hexlet.cv.service.NotificationHub;
+import io.hexlet.cv.service.UnreadNotificationCounter;
+import io.hexlet.cv.util.UserUtils;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.AllArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@Controller
+@AllArgsConstructor
+public class NotificationController {
+
+    private final Inertia inertia;
+    private final FlashPropsService flashPropsService;
+    private final NotificationRepository notificationRepository;
+    private final NotificationMapper notificationMapper;
+    private final UnreadNotificationCounter unreadCounter;
+    private final NotificationHub notificationHub;
+    private final UserUtils userUtils;
+
+    @GetMapping("/{locale}/notifications")
+    public ResponseEntity<?> index(@PathVariable String locale,
+                                   HttpServletRequest request) {
+        var userId = userUtils.getCurrentUserId();
+
+        var props = flashPropsService.buildProps(locale, request);
+        props.put("notifications", notificationRepository.findTop50ByUserIdOrderByIdDesc(userId).stream()
+                .map(notificationMapper::map)
+                .toList());
+        props.put("unreadCount", unreadCounter.get(userId));
+
+        return inertia.render("Notifications/Index", props);
+    }
+
+    @PostMapping("/{locale}/notifications/read_all")
+    public ResponseEntity<?> readAll(@PathVariable String locale) {
+        unreadCounter.markAllAsRead(userUtils.getCurrentUserId());
+        return inertia.redirect("/" + locale + "/notifications");
+    }
+
+    @GetMapping(value = "/{locale}/notifications/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @ResponseBody
+    public SseEmitter stream(@PathVariable String locale,
+                             @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return notificationHub.subscribe(userUtils.getCurrentUserId(), lastEventId);
+    }
+}
@@ -0,0 +1,26 @@
+package io.hexlet.cv.controller;
+
+import io.hexlet.cv.service.TagCoOccurrenceService;
+import io.hexlet.cv.service.TagCoOccurrenceService.RelatedTag;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@AllArgsConstructor
+@RequestMapping("/api/tags")
+public class TagController {
+
+    private final TagCoOccurrenceService tagCoOccurrenceService;
+
+    // подсказки "похожие навыки" для поля тегов, из памяти без обращения к базе
+    @GetMapping("/{id}/related")
+    public List<RelatedTag> related(@PathVariable Long id,
+                                    @RequestParam(defaultValue = "10") int limit) {
+        return tagCoOccurrenceService.findRelated(id, limit);
+    }
+}
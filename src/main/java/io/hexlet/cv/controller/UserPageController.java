@@ -1,6 +1,7 @@
 package io.hexlet.cv.controller;
 
-import io.github.inertia4j.spring.Inertia;
+import io.hexlet.cv.component.inertia.InertiaPage;
+import io.hexlet.cv.component.inertia.StreamingInertia;
 import io.hexlet.cv.handler.exception.UserNotFoundException;
 import io.hexlet.cv.service.FlashPropsService;
 import io.hexlet.cv.service.UserPageSercive;
@@ -19,14 +20,14 @@ import org.springframework.web.bind.annotation.PathVariable;
 @AllArgsConstructor
 public class UserPageController {
 
-    private final Inertia inertia;
+    private final StreamingInertia inertia;
     private final FlashPropsService flashPropsService;
     private final UserPageSercive userPageService;
 
     private final MessageSource messageSource;
 
     @GetMapping("/{locale}/users/{user_id}")
-    public ResponseEntity<?> userPage(
+    public ResponseEntity<InertiaPage> userPage(
             @PathVariable("locale") String locale,
             @PathVariable("user_id") Long userId,
             HttpServletRequest request) {
@@ -37,6 +38,7 @@ public class UserPageController {
             Map<String, Object> userPageProps = userPageService.buildProps(userId);
 
             props.putAll(userPageProps);
+            // props пишутся в ответ потоково, без промежуточной строки JSON
             return inertia.render("Users/UserPage", props);
 
         } catch (UserNotFoundException ex) {
@@ -54,7 +56,11 @@ public class UserPageController {
             errorProps.put("userId", userId);
             errorProps.put("locale", locale);
 
-            ResponseEntity<?> inertiaResponse = inertia.render("Error/UserNotFound", errorProps);
+            ResponseEntity<InertiaPage> inertiaResponse = inertia.render("Error/UserNotFound", errorProps);
+            // 409 на устаревшую версию ассетов отдаётся как есть, иначе клиент не перезагрузит страницу
+            if (inertiaResponse.getStatusCode() == HttpStatus.CONFLICT) {
+                return inertiaResponse;
+            }
 
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .headers(inertiaResponse.getHeaders())
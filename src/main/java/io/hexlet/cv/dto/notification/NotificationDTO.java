@@ -0,0 +1,13 @@
+package io.hexlet.cv.dto.notification;
+
+import lombok.Data;
+
+@Data
+public class NotificationDTO {
+    private Long id;
+    private String resourceType;
+    private Long resourceId;
+    private String kind;
+    private String state;
+    private String createdAt;
+}
@@ -0,0 +1,7 @@
+package io.hexlet.cv.dto.userpage;
+
+/**
+ * Число шагов в составе трека, для totalSteps на странице пользователя.
+ */
+public record CareerSizeDTO(Long careerId, Long totalSteps) {
+}
@@ -0,0 +1,9 @@
+package io.hexlet.cv.dto.userpage;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * Пройденный шаг карьерного трека. careerMemberId нужен только для группировки по трекам.
+ */
+public record CareerStepDTO(@JsonIgnore Long careerMemberId, String stepName) {
+}
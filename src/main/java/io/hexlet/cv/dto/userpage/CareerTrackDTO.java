@@ -0,0 +1,22 @@
+package io.hexlet.cv.dto.userpage;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Карьерный трек пользователя с пройденными шагами.
+ */
+public record CareerTrackDTO(String careerName, String status, LocalDateTime finishedAt, int completedStepsCount,
+                             int totalSteps, Long careerId, Long careerMemberId, List<CareerStepDTO> completedSteps) {
+
+    // конструктор для JPQL-проекции, шаги и счётчики добавляет withSteps
+    public CareerTrackDTO(String careerName, String status, LocalDateTime finishedAt, Long careerId,
+                          Long careerMemberId) {
+        this(careerName, status, finishedAt, 0, 0, careerId, careerMemberId, List.of());
+    }
+
+    public CareerTrackDTO withSteps(int total, List<CareerStepDTO> completed) {
+        return new CareerTrackDTO(careerName, status, finishedAt, completed.size(), total, careerId, careerMemberId,
+                completed);
+    }
+}
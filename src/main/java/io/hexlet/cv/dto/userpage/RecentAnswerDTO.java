@@ -0,0 +1,16 @@
+package io.hexlet.cv.dto.userpage;
+
+import java.time.LocalDateTime;
+
+/**
+ * Последний ответ пользователя на чужое резюме.
+ */
+public record RecentAnswerDTO(Long resumeTitle, String content, String answerAuthor, String createdAt,
+                              Long resumeId, Long userAnswerId) {
+
+    public RecentAnswerDTO(Long resumeTitle, String content, String authorFirstName, String authorLastName,
+                           LocalDateTime createdAt, Long resumeId, Long userAnswerId) {
+        this(resumeTitle, content, authorFirstName + " " + authorLastName,
+                createdAt == null ? null : createdAt.toString(), resumeId, userAnswerId);
+    }
+}
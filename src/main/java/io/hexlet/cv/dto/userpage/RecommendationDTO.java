@@ -0,0 +1,15 @@
+package io.hexlet.cv.dto.userpage;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Рекомендация, оставленная пользователем к ответу на резюме.
+ */
+public record RecommendationDTO(String authorName, @JsonProperty("AuthorId") Long authorId, String content,
+                                Long recommendationId) {
+
+    public RecommendationDTO(String authorFirstName, String authorLastName, Long authorId, String content,
+                             Long recommendationId) {
+        this(authorFirstName + " " + authorLastName, authorId, content, recommendationId);
+    }
+}
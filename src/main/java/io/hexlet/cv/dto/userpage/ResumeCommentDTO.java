@@ -0,0 +1,12 @@
+package io.hexlet.cv.dto.userpage;
+
+/**
+ * Комментарий к резюме пользователя.
+ */
+public record ResumeCommentDTO(String authorName, Long authorId, String content, Long resumeId) {
+
+    public ResumeCommentDTO(String authorFirstName, String authorLastName, Long authorId, String content,
+                            Long resumeId) {
+        this(authorFirstName + " " + authorLastName, authorId, content, resumeId);
+    }
+}
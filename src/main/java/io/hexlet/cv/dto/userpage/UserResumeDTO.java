@@ -0,0 +1,16 @@
+package io.hexlet.cv.dto.userpage;
+
+import java.time.LocalDateTime;
+
+/**
+ * Резюме в профиле пользователя.
+ */
+public record UserResumeDTO(String name, Long id, String summary, Integer answerCount, Integer impressionsCount,
+                            String createdAt) {
+
+    // конструктор для JPQL-проекции, дата отдаётся строкой, как раньше в props
+    public UserResumeDTO(String name, Long id, String summary, Integer answerCount, Integer impressionsCount,
+                         LocalDateTime createdAt) {
+        this(name, id, summary, answerCount, impressionsCount, createdAt == null ? null : createdAt.toString());
+    }
+}
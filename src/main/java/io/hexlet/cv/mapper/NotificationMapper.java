@@ -0,0 +1,15 @@
+package io.hexlet.cv.mapper;
+
+import io.hexlet.cv.dto.notification.NotificationDTO;
+import io.hexlet.cv.model.Notification;
+import org.mapstruct.Mapper;
+import org.mapstruct.MappingConstants;
+import org.mapstruct.ReportingPolicy;
+
+@Mapper(
+    componentModel = MappingConstants.ComponentModel.SPRING,
+    unmappedTargetPolicy = ReportingPolicy.IGNORE
+)
+public abstract class NotificationMapper {
+    public abstract NotificationDTO map(Notification model);
+}
@@ -1,6 +1,6 @@
 package io.hexlet.cv.model;
 
-import static jakarta.persistence.GenerationType.IDENTITY;
+import static jakarta.persistence.GenerationType.SEQUENCE;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
 import jakarta.persistence.Column;
@@ -12,6 +12,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import java.time.LocalDateTime;
 import lombok.Getter;
@@ -25,14 +26,17 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 @Table(name = "events", indexes = {
     @Index(name = "idx_events_user_id", columnList = "user_id"),
     @Index(name = "idx_events_resource_type", columnList = "resource_type"),
-    @Index(name = "idx_events_resource_id", columnList = "resource_id")
+    @Index(name = "idx_events_resource_id", columnList = "resource_id"),
+    @Index(name = "idx_events_resource_type_resource_id_id", columnList = "resource_type,resource_id,id")
 })
 @Getter
 @Setter
 @NoArgsConstructor
 @EntityListeners(AuditingEntityListener.class)
 public class Event {
-    @Id @GeneratedValue(strategy = IDENTITY)
+    @Id @GeneratedValue(strategy = SEQUENCE, generator = "events_seq")
+    // id событий служат курсором ленты, блоки разных узлов перемешали бы порядок
+    @SequenceGenerator(name = "events_seq", allocationSize = 1)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,51 @@
+package io.hexlet.cv.model;
+
+import static jakarta.persistence.GenerationType.SEQUENCE;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Transactional outbox для events: узкая строка без внешних ключей и вторичных индексов,
+ * пишется в бизнес-транзакции и переносится в events фоновым писателем.
+ */
+@Entity
+@Table(name = "event_outbox")
+@Getter
+@Setter
+@NoArgsConstructor
+public class EventOutbox {
+    @Id @GeneratedValue(strategy = SEQUENCE, generator = "event_outbox_seq")
+    // flush переносит строки по возрастанию id, блоки разных узлов перемешали бы порядок вызовов record
+    @SequenceGenerator(name = "event_outbox_seq", allocationSize = 1)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private String kind;
+
+    @Column(nullable = false)
+    private String locale;
+
+    @Column(nullable = false)
+    private String state;
+
+    @Column(name = "resource_type", nullable = false)
+    private String resourceType;
+
+    @Column(name = "resource_id", nullable = false)
+    private Long resourceId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
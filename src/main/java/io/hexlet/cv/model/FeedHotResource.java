@@ -0,0 +1,37 @@
+package io.hexlet.cv.model;
+
+import static jakarta.persistence.GenerationType.SEQUENCE;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Ресурс со слишком большой аудиторией: его события не раскладываются по лентам,
+ * а подмешиваются из events при чтении.
+ */
+@Entity
+@Table(name = "feed_hot_resources", indexes = {
+    @Index(name = "idx_feed_hot_resources_resource", columnList = "resource_type,resource_id", unique = true)
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class FeedHotResource {
+    @Id @GeneratedValue(strategy = SEQUENCE, generator = "feed_hot_resources_seq")
+    @SequenceGenerator(name = "feed_hot_resources_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "resource_type", nullable = false)
+    private String resourceType;
+
+    @Column(name = "resource_id", nullable = false)
+    private Long resourceId;
+}
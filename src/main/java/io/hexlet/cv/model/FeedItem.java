@@ -0,0 +1,54 @@
+package io.hexlet.cv.model;
+
+import static jakarta.persistence.GenerationType.SEQUENCE;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Материализованная строка ленты: событие, разложенное по получателям.
+ * Пагинация по event_id, поэтому строки ленты и события горячих ресурсов сливаются по одному ключу.
+ */
+@Entity
+@Table(name = "feed_items", indexes = {
+    @Index(name = "idx_feed_items_user_id_event_id", columnList = "user_id,event_id", unique = true)
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class FeedItem {
+    @Id @GeneratedValue(strategy = SEQUENCE, generator = "feed_items_seq")
+    @SequenceGenerator(name = "feed_items_seq", allocationSize = 50)
+    private Long id;
+
+    // без внешних ключей: лента — производные данные, пересобираемые из events
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "event_id", nullable = false)
+    private Long eventId;
+
+    @Column(name = "actor_id", nullable = false)
+    private Long actorId;
+
+    @Column(nullable = false)
+    private String kind;
+
+    @Column(name = "resource_type", nullable = false)
+    private String resourceType;
+
+    @Column(name = "resource_id", nullable = false)
+    private Long resourceId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
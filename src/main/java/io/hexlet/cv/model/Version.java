@@ -1,6 +1,6 @@
 package io.hexlet.cv.model;
 
-import static jakarta.persistence.GenerationType.IDENTITY;
+import static jakarta.persistence.GenerationType.SEQUENCE;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
 import jakarta.persistence.Column;
@@ -9,6 +9,7 @@ import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
 import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import java.time.LocalDateTime;
 import lombok.Getter;
@@ -20,14 +21,17 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 @Entity
 @Table(name = "versions", indexes = {
     @Index(name = "idx_versions_item_type", columnList = "item_type"),
-    @Index(name = "idx_versions_item_id", columnList = "item_id")
+    @Index(name = "idx_versions_item_id", columnList = "item_id"),
+    @Index(name = "idx_versions_item_type_item_id_id", columnList = "item_type,item_id,id")
 })
 @Getter
 @Setter
 @NoArgsConstructor
 @EntityListeners(AuditingEntityListener.class)
 public class Version {
-    @Id @GeneratedValue(strategy = IDENTITY)
+    @Id @GeneratedValue(strategy = SEQUENCE, generator = "versions_seq")
+    // патчи применяются по возрастанию id, блоки разных узлов перемешали бы порядок
+    @SequenceGenerator(name = "versions_seq", allocationSize = 1)
     private Long id;
 
 
@@ -43,9 +47,14 @@ public class Version {
 
     private String whodunnit;
 
+    // полный снимок, есть только у каждой N-й версии
     @Column(columnDefinition = "text")
     private String object;
 
+    // merge patch к предыдущей версии
+    @Column(name = "object_changes", columnDefinition = "text")
+    private String objectChanges;
+
     @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss.SSSSSS")
     @CreatedDate
     private LocalDateTime createdAt;
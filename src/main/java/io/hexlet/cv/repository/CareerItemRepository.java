@@ -1,10 +1,27 @@
 package io.hexlet.cv.repository;
 
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+
+import io.hexlet.cv.dto.userpage.CareerSizeDTO;
 import io.hexlet.cv.model.CareerItem;
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface CareerItemRepository extends JpaRepository<CareerItem, Long> {
+    // состав трека меняется редко, результат берётся из query cache
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     int countByCareerId(Long careerId);
+
+    // состав всех треков страницы одним запросом, по строке на трек с шагами
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    @Query("SELECT new io.hexlet.cv.dto.userpage.CareerSizeDTO(ci.career.id, COUNT(ci)) FROM CareerItem ci "
+            + "WHERE ci.career.id IN :careerIds GROUP BY ci.career.id")
+    List<CareerSizeDTO> findCareerSizes(@Param("careerIds") Collection<Long> careerIds);
 }
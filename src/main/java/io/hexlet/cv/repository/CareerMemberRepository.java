@@ -1,11 +1,16 @@
 package io.hexlet.cv.repository;
 
+import io.hexlet.cv.dto.userpage.CareerTrackDTO;
 import io.hexlet.cv.model.CareerMember;
 import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface CareerMemberRepository extends JpaRepository<CareerMember, Long> {
-    List<CareerMember> findByUserId(Long id);
+    @Query("SELECT new io.hexlet.cv.dto.userpage.CareerTrackDTO(c.name, m.state, m.finishedAt, c.id, m.id) "
+            + "FROM CareerMember m JOIN m.career c WHERE m.user.id = :userId")
+    List<CareerTrackDTO> findUserPageTracks(@Param("userId") Long userId);
 }
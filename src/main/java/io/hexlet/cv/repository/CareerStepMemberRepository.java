@@ -1,16 +1,22 @@
 package io.hexlet.cv.repository;
 
 
+import io.hexlet.cv.dto.userpage.CareerStepDTO;
 import io.hexlet.cv.model.CareerStepMember;
 import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface CareerStepMemberRepository extends JpaRepository<CareerStepMember, Long> {
     int countByCareerMemberIdAndState(Long careerMemberId, String state);
 
-    List<CareerStepMember> findByCareerMemberIdAndState(Long careerMemberId, String state);
+    // шаги всех треков пользователя одним запросом, по трекам раскладывает сервис
+    @Query("SELECT new io.hexlet.cv.dto.userpage.CareerStepDTO(m.id, s.name) FROM CareerStepMember sm "
+            + "JOIN sm.careerMember m JOIN sm.careerStep s WHERE m.user.id = :userId AND sm.state = :state")
+    List<CareerStepDTO> findUserPageSteps(@Param("userId") Long userId, @Param("state") String state);
 
     List<CareerStepMember> findByCareerMemberIdAndStateOrderByUpdatedAtDesc(Long careerMemberId, String state);
 
@@ -0,0 +1,10 @@
+package io.hexlet.cv.repository;
+
+import io.hexlet.cv.model.FeedHotResource;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface FeedHotResourceRepository extends JpaRepository<FeedHotResource, Long> {
+    boolean existsByResourceTypeAndResourceId(String resourceType, Long resourceId);
+}
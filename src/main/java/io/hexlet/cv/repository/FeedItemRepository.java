@@ -0,0 +1,12 @@
+package io.hexlet.cv.repository;
+
+import io.hexlet.cv.model.FeedItem;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface FeedItemRepository extends JpaRepository<FeedItem, Long> {
+    List<FeedItem> findByUserIdAndEventIdLessThanOrderByEventIdDesc(Long userId, Long eventId, Pageable pageable);
+}
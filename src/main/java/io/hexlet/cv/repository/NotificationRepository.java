@@ -1,9 +1,29 @@
 package io.hexlet.cv.repository;
 
 import io.hexlet.cv.model.Notification;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
+    long countByUserIdAndState(Long userId, String state);
+
+    List<Notification> findTop50ByUserIdOrderByIdDesc(Long userId);
+
+    List<Notification> findByUserIdAndIdGreaterThanOrderByIdAsc(Long userId, Long id, Pageable pageable);
+
+    // одним UPDATE, без загрузки уведомлений в контекст
+    @Modifying
+    @Query("UPDATE Notification n SET n.state = :to, n.updatedAt = :now "
+            + "WHERE n.user.id = :userId AND n.state = :from")
+    int updateStateByUserId(@Param("userId") Long userId,
+                            @Param("from") String from,
+                            @Param("to") String to,
+                            @Param("now") LocalDateTime now);
 }
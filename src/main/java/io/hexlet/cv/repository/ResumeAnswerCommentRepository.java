@@ -1,12 +1,18 @@
 package io.hexlet.cv.repository;
 
+import io.hexlet.cv.dto.userpage.RecommendationDTO;
 import io.hexlet.cv.model.ResumeAnswerComment;
 import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface ResumeAnswerCommentRepository extends JpaRepository<ResumeAnswerComment, Long> {
     int countByUserId(Long userId);
-    List<ResumeAnswerComment> findByUserId(Long resumeId);
+
+    @Query("SELECT new io.hexlet.cv.dto.userpage.RecommendationDTO(u.firstName, u.lastName, c.user.id, "
+            + "c.content, c.id) FROM ResumeAnswerComment c JOIN c.resume r JOIN r.user u WHERE c.user.id = :userId")
+    List<RecommendationDTO> findUserPageRecommendations(@Param("userId") Long userId);
 }
@@ -1,13 +1,20 @@
 package io.hexlet.cv.repository;
 
+import io.hexlet.cv.dto.userpage.RecentAnswerDTO;
 import io.hexlet.cv.model.ResumeAnswer;
 import java.util.List;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface ResumeAnswerRepository extends JpaRepository<ResumeAnswer, Long>  {
     int countByUserId(Long userId);
-    List<ResumeAnswer> findByUserIdOrderByCreatedAtDesc(Long userId, Pageable pageable);
+
+    @Query("SELECT new io.hexlet.cv.dto.userpage.RecentAnswerDTO(a.id, a.content, u.firstName, u.lastName, "
+            + "a.createdAt, r.id, a.user.id) FROM ResumeAnswer a JOIN a.resume r JOIN r.user u "
+            + "WHERE a.user.id = :userId ORDER BY a.createdAt DESC")
+    List<RecentAnswerDTO> findUserPageAnswers(@Param("userId") Long userId, Pageable pageable);
 }
@@ -1,13 +1,18 @@
 package io.hexlet.cv.repository;
 
+import io.hexlet.cv.dto.userpage.ResumeCommentDTO;
 import io.hexlet.cv.model.ResumeComment;
 import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface ResumeCommentRepository extends JpaRepository<ResumeComment, Long> {
 
-    List<ResumeComment> findByResumeUserId(Long userId);
+    @Query("SELECT new io.hexlet.cv.dto.userpage.ResumeCommentDTO(u.firstName, u.lastName, u.id, c.content, "
+            + "r.id) FROM ResumeComment c JOIN c.user u JOIN c.resume r WHERE r.user.id = :userId")
+    List<ResumeCommentDTO> findUserPageResumeComments(@Param("userId") Long userId);
 
 }
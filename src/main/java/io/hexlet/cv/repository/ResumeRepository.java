@@ -1,9 +1,12 @@
 package io.hexlet.cv.repository;
 
+import io.hexlet.cv.dto.userpage.UserResumeDTO;
 import io.hexlet.cv.model.Resume;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -11,4 +14,8 @@ public interface ResumeRepository extends JpaRepository<Resume, Long> {
     List<Resume> findByUserId(Long userId);
       //  Page<Resume> findByUserId(Long userId, Pageable pageable);
     Optional<Resume> findTopByUserIdOrderByCreatedAtDesc(Long userId);
+
+    @Query("SELECT new io.hexlet.cv.dto.userpage.UserResumeDTO(r.name, r.id, r.summary, r.answersCount, "
+            + "r.impressionsCount, r.createdAt) FROM Resume r WHERE r.user.id = :userId")
+    List<UserResumeDTO> findUserPageResumes(@Param("userId") Long userId);
 }
@@ -1,9 +1,26 @@
 package io.hexlet.cv.repository;
 
 import io.hexlet.cv.model.Version;
+import jakarta.persistence.LockModeType;
+import java.util.List;
+import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface VersionRepository extends JpaRepository<Version, Long> {
+    // первая версия элемента не меняется, её строка служит общей блокировкой для записи следующих
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<Version> findFirstByItemTypeAndItemIdOrderByIdAsc(String itemType, Long itemId);
+
+    Optional<Version> findFirstByItemTypeAndItemIdAndObjectIsNotNullOrderByIdDesc(String itemType, Long itemId);
+
+    Optional<Version> findFirstByItemTypeAndItemIdAndIdLessThanEqualAndObjectIsNotNullOrderByIdDesc(
+            String itemType, Long itemId, Long id);
+
+    List<Version> findByItemTypeAndItemIdAndIdGreaterThanOrderByIdAsc(String itemType, Long itemId, Long id);
+
+    List<Version> findByItemTypeAndItemIdAndIdGreaterThanAndIdLessThanEqualOrderByIdAsc(
+            String itemType, Long itemId, Long from, Long to);
 }
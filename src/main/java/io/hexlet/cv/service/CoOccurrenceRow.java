@@ -0,0 +1,101 @@
+package io.hexlet.cv.service;
+
+/**
+ * Строка матрицы совместной встречаемости: tagId соседа -> счётчик, открытая адресация на массивах
+ * long[]/int[] без упаковки ключей и значений. Пара живёт, пока счётчик больше нуля.
+ * Ключ 0 служит пустой ячейкой: id тегов выдаёт последовательность, нуля среди них нет.
+ */
+final class CoOccurrenceRow {
+
+    private static final int MIN_CAPACITY = 4;
+
+    private long[] keys = new long[MIN_CAPACITY];
+    private int[] counts = new int[MIN_CAPACITY];
+    private int size;
+
+    void add(long key, int delta) {
+        int mask = keys.length - 1;
+        for (int i = slot(key, mask); keys[i] != 0; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                counts[i] += delta;
+                if (counts[i] <= 0) {
+                    removeAt(i);
+                }
+                return;
+            }
+        }
+        if (delta > 0) {
+            insert(key, delta);
+        }
+    }
+
+    void addAll(CoOccurrenceRow other) {
+        other.forEach(this::add);
+    }
+
+    int size() {
+        return size;
+    }
+
+    void forEach(Visitor visitor) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) {
+                visitor.visit(keys[i], counts[i]);
+            }
+        }
+    }
+
+    private void insert(long key, int count) {
+        // заполнение не больше 3/4, иначе цепочки проб растут
+        if ((size + 1) * 4 > keys.length * 3) {
+            resize(keys.length * 2);
+        }
+        int mask = keys.length - 1;
+        int i = slot(key, mask);
+        while (keys[i] != 0) {
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        counts[i] = count;
+        size++;
+    }
+
+    // сдвиг назад вместо надгробий: следующие за дыркой ключи своей цепочки переезжают на её место
+    private void removeAt(int index) {
+        int mask = keys.length - 1;
+        int gap = index;
+        for (int i = (index + 1) & mask; keys[i] != 0; i = (i + 1) & mask) {
+            int home = slot(keys[i], mask);
+            if (((i - home) & mask) >= ((i - gap) & mask)) {
+                keys[gap] = keys[i];
+                counts[gap] = counts[i];
+                gap = i;
+            }
+        }
+        keys[gap] = 0;
+        counts[gap] = 0;
+        size--;
+    }
+
+    private void resize(int capacity) {
+        var oldKeys = keys;
+        var oldCounts = counts;
+        keys = new long[capacity];
+        counts = new int[capacity];
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                insert(oldKeys[i], oldCounts[i]);
+            }
+        }
+    }
+
+    private static int slot(long key, int mask) {
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+    }
+
+    @FunctionalInterface
+    interface Visitor {
+        void visit(long tagId, int count);
+    }
+}
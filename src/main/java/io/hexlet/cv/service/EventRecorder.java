@@ -0,0 +1,219 @@
+package io.hexlet.cv.service;
+
+import io.hexlet.cv.component.SequenceIdAllocator;
+import io.hexlet.cv.config.EventProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Запись журнала events вне бизнес-транзакций.
+ * В транзакции пишется только узкая строка в event_outbox, после коммита её id попадает
+ * в кольцевой буфер, и единственный поток-писатель пачкой переносит строки в events.
+ * Перенос всегда идёт по возрастанию id outbox. id выдаются по одному, без блоков pooled-lo, поэтому это
+ * порядок вызовов record на всех узлах; строка, закоммиченная позже соседа с большим id, уходит своим flush
+ * или relay. Строки, не попавшие в переполненный буфер, забирает ближайший flush вместе с более поздними.
+ * Если процесс упал после коммита, строки остаются в outbox и переносятся при старте и периодическим relay.
+ */
+@Slf4j
+@Service
+public class EventRecorder {
+
+    public static final String STATE_DONE = "done";
+
+    private static final String OUTBOX_SQL = """
+            INSERT INTO event_outbox (id, user_id, kind, locale, state, resource_type, resource_id, created_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    // события удалённых к этому моменту пользователей отбрасываются через JOIN, а не валят всю пачку по FK;
+    // по строке на оператор: id из events_seq выдаются в порядке outbox
+    private static final String TRANSFER_SQL = """
+            INSERT INTO events (id, user_id, kind, locale, state, resource_type, resource_id, created_at, updated_at)
+            SELECT %s, o.user_id, o.kind, o.locale, o.state, o.resource_type, o.resource_id, o.created_at,
+                o.created_at
+            FROM event_outbox o JOIN users u ON u.id = o.user_id
+            WHERE o.id = ?
+            """;
+
+    // блокировка строк outbox: параллельный перенос тех же строк (relay другого узла) ждёт и их уже не видит
+    private static final String LOCK_SQL = "SELECT id FROM event_outbox WHERE id IN (%s) ORDER BY id FOR UPDATE";
+
+    private static final String DELETE_SQL = "DELETE FROM event_outbox WHERE id IN (%s)";
+
+    private static final String UP_TO_SQL = "SELECT id FROM event_outbox WHERE id <= ? ORDER BY id LIMIT ?";
+
+    private static final String STALE_SQL =
+            "SELECT id FROM event_outbox WHERE created_at < ? ORDER BY id LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EventProperties properties;
+    private final SequenceIdAllocator sequenceIdAllocator;
+    private final BlockingQueue<Long> queue;
+    private final ScheduledExecutorService writer = Executors.newSingleThreadScheduledExecutor(r -> {
+        var thread = new Thread(r, "event-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public EventRecorder(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                         EventProperties properties, SequenceIdAllocator sequenceIdAllocator) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.sequenceIdAllocator = sequenceIdAllocator;
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+    }
+
+    @PostConstruct
+    void startWriter() {
+        long flushInterval = properties.getFlushInterval().toMillis();
+        long relayInterval = properties.getRelayInterval().toMillis();
+        writer.scheduleWithFixedDelay(this::flushSafely, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+        writer.scheduleWithFixedDelay(() -> relaySafely(properties.getRelayDelay()),
+                relayInterval, relayInterval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Записывает событие в локали текущего запроса.
+     */
+    public void record(Long userId, String kind, String resourceType, Long resourceId) {
+        record(userId, kind, LocaleContextHolder.getLocale().getLanguage(), STATE_DONE, resourceType, resourceId);
+    }
+
+    /**
+     * Пишет строку в outbox в рамках текущей транзакции, в events она попадёт после коммита.
+     */
+    public void record(Long userId, String kind, String locale, String state, String resourceType, Long resourceId) {
+        long outboxId = sequenceIdAllocator.next("event_outbox_seq");
+        jdbcTemplate.update(OUTBOX_SQL, outboxId, userId, kind, locale, state, resourceType, resourceId,
+                Timestamp.valueOf(LocalDateTime.now()));
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            enqueue(outboxId);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                enqueue(outboxId);
+            }
+        });
+    }
+
+    public int pending() {
+        return queue.size();
+    }
+
+    // бизнес-поток никогда не ждёт писателя: при полном буфере строку подберёт relay
+    private void enqueue(long outboxId) {
+        if (!queue.offer(outboxId)) {
+            log.debug("Event queue is full, outbox row {} is left for relay", outboxId);
+        }
+    }
+
+    /**
+     * Переносит все строки outbox до последней, пришедшей через буфер, включая пропущенные при переполнении.
+     */
+    public synchronized void flush() {
+        List<Long> drained = new ArrayList<>();
+        queue.drainTo(drained);
+        if (drained.isEmpty()) {
+            return;
+        }
+
+        long upTo = Collections.max(drained);
+        List<Long> ids;
+        do {
+            ids = jdbcTemplate.queryForList(UP_TO_SQL, Long.class, upTo, properties.getBatchSize());
+            if (!ids.isEmpty()) {
+                transfer(ids);
+            }
+        } while (ids.size() == properties.getBatchSize());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void relayOnStartup() {
+        writer.execute(() -> relaySafely(Duration.ZERO));
+    }
+
+    /**
+     * Переносит строки outbox старше delay, которые не дошли через буфер.
+     */
+    public synchronized void relay(Duration delay) {
+        var threshold = Timestamp.valueOf(LocalDateTime.now().minus(delay));
+        List<Long> stale;
+        do {
+            stale = jdbcTemplate.queryForList(STALE_SQL, Long.class, threshold, properties.getBatchSize());
+            if (!stale.isEmpty()) {
+                transfer(stale);
+                log.info("Relayed {} events from outbox", stale.size());
+            }
+        } while (stale.size() == properties.getBatchSize());
+    }
+
+    // перенос и удаление в одной транзакции: повторный перенос тех же id ничего не найдёт в outbox
+    private void transfer(List<Long> ids) {
+        var transfer = TRANSFER_SQL.formatted(sequenceIdAllocator.nextValueExpression("events_seq"));
+        transactionTemplate.executeWithoutResult(status -> {
+            var placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+            var locked = jdbcTemplate.queryForList(LOCK_SQL.formatted(placeholders), Long.class, ids.toArray());
+            if (locked.isEmpty()) {
+                return;
+            }
+
+            jdbcTemplate.batchUpdate(transfer, locked, locked.size(), (ps, id) -> ps.setLong(1, id));
+            jdbcTemplate.update(DELETE_SQL.formatted(String.join(", ", Collections.nCopies(locked.size(), "?"))),
+                    locked.toArray());
+        });
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            // строки остались в outbox, их заберёт relay
+            log.error("Failed to write events", e);
+        }
+    }
+
+    private void relaySafely(Duration delay) {
+        try {
+            relay(delay);
+        } catch (RuntimeException e) {
+            log.error("Failed to relay events from outbox", e);
+        }
+    }
+
+    @PreDestroy
+    void stopWriter() {
+        writer.shutdown();
+        try {
+            writer.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushSafely();
+    }
+}
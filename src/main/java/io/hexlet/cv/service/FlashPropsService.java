@@ -1,14 +1,20 @@
 package io.hexlet.cv.service;
 
+import io.hexlet.cv.util.UserUtils;
 import jakarta.servlet.http.HttpServletRequest;
 import java.util.HashMap;
 import java.util.Map;
+import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.web.servlet.support.RequestContextUtils;
 
 @Service
+@AllArgsConstructor
 public class FlashPropsService {
 
+    private final UserUtils userUtils;
+    private final UnreadNotificationCounter unreadCounter;
+
     public Map<String, Object> buildProps(String locale, HttpServletRequest request) {
         Map<String, Object> props = new HashMap<>();
 
@@ -20,6 +26,12 @@ public class FlashPropsService {
 
         props.put("locale", locale);
 
+        // бейдж уведомлений: id берём из токена, счётчик из кэша
+        var userId = userUtils.getTokenUserId();
+        if (userId != null) {
+            props.put("unreadNotificationsCount", unreadCounter.get(userId));
+        }
+
         return props;
     }
 }
@@ -0,0 +1,209 @@
+package io.hexlet.cv.service;
+
+import io.hexlet.cv.config.NotificationProperties;
+import io.hexlet.cv.dto.notification.NotificationDTO;
+import io.hexlet.cv.mapper.NotificationMapper;
+import io.hexlet.cv.model.Notification;
+import io.hexlet.cv.repository.NotificationRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * In-process pub/sub уведомлений по user id для SSE.
+ * Соединения держатся через async servlet, поэтому простаивающий клиент не занимает поток.
+ */
+@Slf4j
+@Service
+public class NotificationHub {
+
+    private static final String EVENT_NAME = "notification";
+
+    private final Map<Long, Set<Subscription>> subscribers = new ConcurrentHashMap<>();
+    private final NotificationRepository notificationRepository;
+    private final NotificationMapper notificationMapper;
+    private final NotificationProperties properties;
+    // пинги блокируются на медленных клиентах, поэтому идут своим потоком, а не общим планировщиком @Scheduled
+    private final ScheduledExecutorService heartbeats = Executors.newSingleThreadScheduledExecutor(r -> {
+        var thread = new Thread(r, "notification-heartbeat");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public NotificationHub(NotificationRepository notificationRepository,
+                           NotificationMapper notificationMapper,
+                           NotificationProperties properties) {
+        this.notificationRepository = notificationRepository;
+        this.notificationMapper = notificationMapper;
+        this.properties = properties;
+    }
+
+    /**
+     * Подписывает пользователя. Если клиент переподключился с Last-Event-ID,
+     * досылаются все уведомления с id больше него, страницами по replay-limit. Живые уведомления,
+     * пришедшие во время досылки, копятся и отправляются после неё без тех, что уже ушли из базы.
+     */
+    public SseEmitter subscribe(Long userId, Long lastEventId) {
+        var emitter = new SseEmitter(properties.getStreamTimeout().toMillis());
+        var subscription = new Subscription(userId, emitter, lastEventId);
+        subscribers.compute(userId, (id, current) -> {
+            var target = current == null ? new CopyOnWriteArraySet<Subscription>() : current;
+            target.add(subscription);
+            return target;
+        });
+
+        Runnable remove = () -> unsubscribe(subscription);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(e -> remove.run());
+
+        if (lastEventId != null) {
+            replay(subscription, lastEventId);
+        }
+        return emitter;
+    }
+
+    // страницы идут до неполной: иначе всё между последней досланной и первой живой молча терялось бы
+    private void replay(Subscription subscription, long lastEventId) {
+        int limit = properties.getReplayLimit();
+        long after = lastEventId;
+        List<Notification> page;
+        do {
+            page = notificationRepository.findByUserIdAndIdGreaterThanOrderByIdAsc(
+                    subscription.userId, after, PageRequest.of(0, limit));
+            subscription.replay(page.stream().map(notificationMapper::map).toList());
+            if (!page.isEmpty()) {
+                after = page.get(page.size() - 1).getId();
+            }
+        } while (page.size() == limit && subscription.isOpen());
+        subscription.replayed();
+    }
+
+    public boolean hasSubscribers(Long userId) {
+        var current = subscribers.get(userId);
+        return current != null && !current.isEmpty();
+    }
+
+    public void publish(Long userId, NotificationDTO notification) {
+        var current = subscribers.get(userId);
+        if (current != null) {
+            current.forEach(subscription -> subscription.deliver(notification));
+        }
+    }
+
+    public int connections() {
+        return subscribers.values().stream().mapToInt(Set::size).sum();
+    }
+
+    @PostConstruct
+    void startHeartbeat() {
+        long interval = properties.getHeartbeatInterval().toMillis();
+        heartbeats.scheduleWithFixedDelay(this::heartbeat, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stopHeartbeat() {
+        heartbeats.shutdownNow();
+    }
+
+    // комментарий раз в интервал не даёт прокси закрыть простаивающее соединение
+    public void heartbeat() {
+        try {
+            subscribers.values().forEach(current -> current.forEach(Subscription::ping));
+        } catch (RuntimeException e) {
+            // исключение из задачи остановило бы все следующие пинги
+            log.warn("Failed to send SSE heartbeat", e);
+        }
+    }
+
+    private void unsubscribe(Subscription subscription) {
+        subscribers.computeIfPresent(subscription.userId, (id, current) -> {
+            current.remove(subscription);
+            return current.isEmpty() ? null : current;
+        });
+    }
+
+    /**
+     * Одно SSE-соединение. Пока идёт досылка из базы, живые уведомления буферизуются,
+     * а уведомление с id не больше последнего отправленного второй раз не уходит.
+     */
+    private final class Subscription {
+
+        private final Long userId;
+        private final SseEmitter emitter;
+        private List<NotificationDTO> pending;
+        private long lastSentId;
+        private volatile boolean open = true;
+
+        private Subscription(Long userId, SseEmitter emitter, Long lastEventId) {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.pending = lastEventId == null ? null : new ArrayList<>();
+            this.lastSentId = lastEventId == null ? Long.MIN_VALUE : lastEventId;
+        }
+
+        synchronized void deliver(NotificationDTO notification) {
+            if (pending != null) {
+                pending.add(notification);
+            } else {
+                send(notification);
+            }
+        }
+
+        synchronized void replay(List<NotificationDTO> missed) {
+            missed.forEach(this::send);
+        }
+
+        synchronized void replayed() {
+            var live = pending;
+            pending = null;
+            live.forEach(this::send);
+        }
+
+        boolean isOpen() {
+            return open;
+        }
+
+        synchronized void ping() {
+            try {
+                emitter.send(SseEmitter.event().comment("ping"));
+            } catch (IOException | IllegalStateException e) {
+                close();
+            }
+        }
+
+        private void send(NotificationDTO notification) {
+            if (notification.getId() <= lastSentId) {
+                return;
+            }
+            try {
+                emitter.send(SseEmitter.event()
+                        .id(String.valueOf(notification.getId()))
+                        .name(EVENT_NAME)
+                        .data(notification));
+                lastSentId = notification.getId();
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Dropping SSE subscriber of user {}", userId, e);
+                close();
+            }
+        }
+
+        private void close() {
+            open = false;
+            unsubscribe(this);
+        }
+    }
+}
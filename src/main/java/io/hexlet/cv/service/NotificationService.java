@@ -0,0 +1,303 @@
+package io.hexlet.cv.service;
+
+import io.hexlet.cv.component.SequenceIdAllocator;
+import io.hexlet.cv.config.NotificationProperties;
+import io.hexlet.cv.dto.notification.NotificationDTO;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Очередь уведомлений. Доменные записи кладут сюда намерения, отдельный поток раз в окно
+ * схлопывает одинаковые (пользователь, ресурс, вид) за всё окно и пишет их пачками JDBC batch.
+ * Если batch падает, пачка дописывается по одной строке и теряется только сбойная.
+ * Отдельной модели подписок в проекте нет: подписчики резюме — его владелец и все, кто уже отвечал
+ * на резюме или комментировал его.
+ */
+@Slf4j
+@Service
+public class NotificationService {
+
+    public static final String STATE_NEW = "new";
+
+    private static final String INSERT_SQL = """
+            INSERT INTO notifications (id, user_id, resource_type, resource_id, state, kind, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    // владелец и участники обсуждения резюме; UNION убирает повторы одного пользователя
+    private static final String RESUME_FOLLOWERS_SQL = """
+            SELECT id AS resume_id, user_id FROM resumes WHERE id IN (%1$s)
+            UNION
+            SELECT resume_id, user_id FROM resume_answers WHERE resume_id IN (%1$s)
+            UNION
+            SELECT resume_id, user_id FROM resume_comments WHERE resume_id IN (%1$s) AND user_id IS NOT NULL
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NotificationProperties properties;
+    private final UnreadNotificationCounter unreadCounter;
+    private final NotificationHub notificationHub;
+    private final SequenceIdAllocator sequenceIdAllocator;
+    private final BlockingQueue<QueuedIntent> queue;
+    private final ScheduledExecutorService writer = Executors.newSingleThreadScheduledExecutor(r -> {
+        var thread = new Thread(r, "notification-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public NotificationService(JdbcTemplate jdbcTemplate, NotificationProperties properties,
+                               UnreadNotificationCounter unreadCounter, NotificationHub notificationHub,
+                               SequenceIdAllocator sequenceIdAllocator) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        this.unreadCounter = unreadCounter;
+        this.notificationHub = notificationHub;
+        this.sequenceIdAllocator = sequenceIdAllocator;
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+    }
+
+    @PostConstruct
+    void startWriter() {
+        long window = properties.getCoalesceWindow().toMillis();
+        writer.scheduleWithFixedDelay(this::flushSafely, window, window, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Ставит уведомление в очередь после коммита текущей транзакции (или сразу, если её нет).
+     */
+    public void notify(Long userId, String resourceType, Long resourceId, String kind) {
+        enqueueAfterCommit(new QueuedIntent(new NotificationIntent(userId, resourceType, resourceId, kind), null));
+    }
+
+    /**
+     * Уведомляет подписчиков резюме. Их ищет поток записи, автор сам себе уведомление не получает.
+     */
+    public void notifyResumeFollowers(Long resumeId, Long authorId, String kind) {
+        enqueueAfterCommit(new QueuedIntent(new NotificationIntent(null, "Resume", resumeId, kind), authorId));
+    }
+
+    private void enqueueAfterCommit(QueuedIntent intent) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            enqueue(intent);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                enqueue(intent);
+            }
+        });
+    }
+
+    public int pending() {
+        return queue.size();
+    }
+
+    // при заполненной очереди продюсер ждёт, и только потом уведомление отбрасывается
+    private void enqueue(QueuedIntent intent) {
+        try {
+            long timeout = properties.getOfferTimeout().toMillis();
+            if (!queue.offer(intent, timeout, TimeUnit.MILLISECONDS)) {
+                log.warn("Notification queue is full, dropping {}", intent);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Interrupted while enqueuing {}", intent);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void flush() {
+        List<QueuedIntent> drained = new ArrayList<>();
+        queue.drainTo(drained);
+        if (drained.isEmpty()) {
+            return;
+        }
+
+        // одинаковые намерения за всё окно превращаются в одно уведомление, пачки режутся уже после
+        var intents = new ArrayList<>(new LinkedHashSet<>(resolveFollowers(drained)));
+        for (int from = 0; from < intents.size(); from += properties.getBatchSize()) {
+            write(intents.subList(from, Math.min(from + properties.getBatchSize(), intents.size())));
+        }
+    }
+
+    // подписчики резюме запросом на пачку резюме за окно, а не обходом ленивых связей в @PostPersist
+    private List<NotificationIntent> resolveFollowers(List<QueuedIntent> drained) {
+        var resumeIds = drained.stream()
+                .filter(queued -> queued.intent().userId() == null)
+                .map(queued -> queued.intent().resourceId())
+                .distinct()
+                .toList();
+        Map<Long, List<Long>> followers = new HashMap<>();
+        RowCallbackHandler collect = rs -> followers
+                .computeIfAbsent(rs.getLong("resume_id"), id -> new ArrayList<>())
+                .add(rs.getLong("user_id"));
+        // список IN режется по размеру пачки, чтобы не упереться в лимит параметров запроса
+        for (int from = 0; from < resumeIds.size(); from += properties.getBatchSize()) {
+            var chunk = resumeIds.subList(from, Math.min(from + properties.getBatchSize(), resumeIds.size()));
+            var placeholders = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+            var args = new ArrayList<Object>(chunk.size() * 3);
+            for (int i = 0; i < 3; i++) {
+                args.addAll(chunk);
+            }
+            jdbcTemplate.query(RESUME_FOLLOWERS_SQL.formatted(placeholders), collect, args.toArray());
+        }
+
+        List<NotificationIntent> intents = new ArrayList<>(drained.size());
+        for (var queued : drained) {
+            var intent = queued.intent();
+            if (intent.userId() != null) {
+                intents.add(intent);
+                continue;
+            }
+            for (var follower : followers.getOrDefault(intent.resourceId(), List.of())) {
+                if (!follower.equals(queued.authorId())) {
+                    intents.add(new NotificationIntent(follower, intent.resourceType(), intent.resourceId(),
+                            intent.kind()));
+                }
+            }
+        }
+        return intents;
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.error("Failed to write notifications", e);
+        }
+    }
+
+    private void write(List<NotificationIntent> batch) {
+        var createdAt = LocalDateTime.now();
+        var now = Timestamp.valueOf(createdAt);
+        // id выдаются заранее: без возврата сгенерированных ключей драйвер не дробит batch
+        long[] ids = sequenceIdAllocator.next("notifications_seq", batch.size());
+        boolean[] written = new boolean[batch.size()];
+        Map<Long, Long> perUser = Map.of();
+        // COUNT, начатый во время вставки, не останется в кэше счётчика
+        unreadCounter.beforeCreate();
+        try {
+            insert(batch, ids, now, written);
+            perUser = IntStream.range(0, batch.size())
+                    .filter(i -> written[i])
+                    .mapToObj(batch::get)
+                    .collect(Collectors.groupingBy(NotificationIntent::userId, Collectors.counting()));
+        } finally {
+            unreadCounter.onCreated(perUser);
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            if (written[i]) {
+                publish(batch.get(i), ids[i], createdAt);
+            }
+        }
+    }
+
+    private void insert(List<NotificationIntent> batch, long[] ids, Timestamp now, boolean[] written) {
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    bind(ps, ids[i], batch.get(i), now);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return batch.size();
+                }
+            });
+            Arrays.fill(written, true);
+        } catch (DataAccessException e) {
+            log.warn("Notification batch of {} failed, writing row by row", batch.size(), e);
+            writeRowByRow(batch, ids, now, written);
+        }
+    }
+
+    // те же id: строки, которые batch успел записать до сбоя, отвечают конфликтом ключа и не дублируются
+    private void writeRowByRow(List<NotificationIntent> batch, long[] ids, Timestamp now, boolean[] written) {
+        for (int i = 0; i < batch.size(); i++) {
+            var intent = batch.get(i);
+            long id = ids[i];
+            try {
+                jdbcTemplate.update(INSERT_SQL, ps -> bind(ps, id, intent, now));
+                written[i] = true;
+            } catch (DuplicateKeyException e) {
+                written[i] = true;
+            } catch (DataAccessException e) {
+                log.error("Dropping notification {}", intent, e);
+            }
+        }
+    }
+
+    private static void bind(PreparedStatement ps, long id, NotificationIntent intent, Timestamp now)
+            throws SQLException {
+        ps.setLong(1, id);
+        ps.setLong(2, intent.userId());
+        ps.setString(3, intent.resourceType());
+        ps.setLong(4, intent.resourceId());
+        ps.setString(5, STATE_NEW);
+        ps.setString(6, intent.kind());
+        ps.setTimestamp(7, now);
+        ps.setTimestamp(8, now);
+    }
+
+    // живые SSE-подписчики получают уведомление сразу, с тем же id, что и в базе
+    private void publish(NotificationIntent intent, long id, LocalDateTime createdAt) {
+        if (!notificationHub.hasSubscribers(intent.userId())) {
+            return;
+        }
+
+        var dto = new NotificationDTO();
+        dto.setId(id);
+        dto.setResourceType(intent.resourceType());
+        dto.setResourceId(intent.resourceId());
+        dto.setKind(intent.kind());
+        dto.setState(STATE_NEW);
+        dto.setCreatedAt(createdAt.toString());
+        notificationHub.publish(intent.userId(), dto);
+    }
+
+    @PreDestroy
+    void stopWriter() {
+        writer.shutdown();
+        flushSafely();
+    }
+
+    public record NotificationIntent(Long userId, String resourceType, Long resourceId, String kind) {
+    }
+
+    // authorId задан, когда получателей (подписчиков резюме) ещё нужно найти
+    private record QueuedIntent(NotificationIntent intent, Long authorId) {
+    }
+}
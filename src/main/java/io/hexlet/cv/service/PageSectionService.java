@@ -5,25 +5,35 @@ import io.hexlet.cv.dto.pagesection.PageSectionDTO;
 import io.hexlet.cv.dto.pagesection.PageSectionUpdateDTO;
 import io.hexlet.cv.handler.exception.ResourceNotFoundException;
 import io.hexlet.cv.mapper.PageSectionMapper;
+import io.hexlet.cv.model.PageSection;
 import io.hexlet.cv.repository.PageSectionRepository;
+import io.hexlet.cv.service.versioning.VersioningService;
+import io.hexlet.cv.util.UserUtils;
 import jakarta.persistence.EntityExistsException;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
 @Service
 @AllArgsConstructor
 public class PageSectionService {
+    public static final String VERSION_ITEM_TYPE = "PageSection";
+
     private final PageSectionRepository repository;
     private final PageSectionMapper mapper;
+    private final VersioningService versioningService;
+    private final UserUtils userUtils;
 
+    @Transactional(readOnly = true)
     public List<PageSectionDTO> findAll() {
         return repository.findAll().stream()
             .map(mapper::map)
             .toList();
     }
 
+    @Transactional(readOnly = true)
     public List<PageSectionDTO> findAllOnPage(String pageKey, Boolean isActive) {
 
         if (pageKey != null && isActive != null) {
@@ -48,6 +58,7 @@ public class PageSectionService {
         }
     }
 
+    @Transactional(readOnly = true)
     public PageSectionDTO findById(Long id) {
 
         var model = repository.findById(id)
@@ -56,6 +67,7 @@ public class PageSectionService {
         return mapper.map(model);
     }
 
+    @Transactional
     public PageSectionDTO create(PageSectionCreateDTO dto) {
 
         if (repository.existsByPageKeyAndSectionKey(dto.getPageKey(), dto.getSectionKey())) {
@@ -71,9 +83,10 @@ public class PageSectionService {
 
         var model = mapper.map(dto);
         repository.save(model);
-        return mapper.map(model);
+        return recordVersion(model, "create");
     }
 
+    @Transactional
     public PageSectionDTO updateById(Long id, PageSectionUpdateDTO dto) {
 
         var model = repository.findById(id)
@@ -88,11 +101,25 @@ public class PageSectionService {
 
         mapper.update(dto, model);
         repository.save(model);
-        return mapper.map(model);
+        return recordVersion(model, "update");
+    }
+
+    // версия пишется в той же транзакции, что и изменение секции
+    private PageSectionDTO recordVersion(PageSection model, String event) {
+        var state = mapper.map(model);
+        var whodunnit = userUtils.getTokenUserId();
+        versioningService.record(VERSION_ITEM_TYPE, model.getId(), event,
+                whodunnit == null ? null : whodunnit.toString(), state);
+        return state;
     }
 
+    // итоговое состояние секции остаётся в версии destroy; отсутствующая секция, как и раньше, не ошибка
+    @Transactional
     public void deleteById(Long id) {
-        repository.deleteById(id);
+        repository.findById(id).ifPresent(model -> {
+            recordVersion(model, "destroy");
+            repository.delete(model);
+        });
     }
 
 //    public PageSectionDTO findByPageKeyAndSectionKey(String pageKey, String sectionKey) {
@@ -0,0 +1,221 @@
+package io.hexlet.cv.service;
+
+import io.hexlet.cv.model.Tagging;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Матрица совместной встречаемости тегов для подсказок "похожие навыки".
+ * Матрица разреженная: строка на тег, в строке только теги, которые встречались вместе с ним
+ * на одном резюме или вакансии. Пары, которых большинство, лежат в {@link CoOccurrenceRow} на примитивных
+ * массивах; упакованный Long остаётся только ключом строки, по одному на тег.
+ * Топ-N для каждого тега считается заранее и отдаётся из памяти.
+ */
+@Slf4j
+@Service
+public class TagCoOccurrenceService {
+
+    private static final String LOAD_SQL =
+            "SELECT taggable_type, taggable_id, tag_id FROM taggings ORDER BY taggable_type, taggable_id";
+
+    // остальные теги того же taggable, сама запись tagging исключается: в JDBC она может быть ещё не видна
+    private static final String OTHER_TAGS_SQL =
+            "SELECT DISTINCT tag_id FROM taggings WHERE taggable_type = ? AND taggable_id = ? AND id <> ?";
+
+    // меньше этого количество taggable обрабатывается одной задачей без деления
+    private static final int SPLIT_THRESHOLD = 1024;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int topSize;
+
+    // tagId -> (соседний tagId -> сколько раз встречались вместе)
+    private Map<Long, CoOccurrenceRow> matrix = new HashMap<>();
+    private volatile ConcurrentHashMap<Long, List<RelatedTag>> topRelated = new ConcurrentHashMap<>();
+
+    public TagCoOccurrenceService(JdbcTemplate jdbcTemplate,
+                                  @Value("${app.tags.related.top-size:10}") int topSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.topSize = topSize;
+    }
+
+    public List<RelatedTag> findRelated(Long tagId, int limit) {
+        var related = topRelated.getOrDefault(tagId, List.of());
+        // limit приходит из запроса как есть, отрицательный даёт пустой список, а не ошибку subList
+        return related.subList(0, Math.max(0, Math.min(limit, related.size())));
+    }
+
+    /**
+     * Полная перестройка из taggings. По расписанию она же исправляет пары, пропущенные инкрементом,
+     * когда два тега одного taggable коммитятся одновременно и не видят друг друга.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${app.tags.related.rebuild-interval:1h}",
+            fixedDelayString = "${app.tags.related.rebuild-interval:1h}")
+    public void rebuild() {
+        List<long[]> groups = loadTagGroups();
+
+        var built = ForkJoinPool.commonPool().invoke(new BuildTask(groups, 0, groups.size()));
+        var top = new ConcurrentHashMap<Long, List<RelatedTag>>();
+        built.entrySet().parallelStream()
+                .forEach(row -> top.put(row.getKey(), topOf(row.getValue())));
+
+        synchronized (this) {
+            matrix = built;
+            topRelated = top;
+        }
+        log.info("Built tag co-occurrence index: {} taggables, {} tags", groups.size(), built.size());
+    }
+
+    /**
+     * Учитывает новый tagging, вызывать в транзакции после его сохранения.
+     * Соседи читаются этой же транзакцией, в матрицу пары попадают после коммита.
+     */
+    public void onTagged(Tagging tagging) {
+        var others = otherTags(tagging);
+        afterCommit(() -> update(tagging.getTag().getId(), others, 1));
+    }
+
+    /**
+     * Убирает tagging из матрицы, вызывать в транзакции его удаления.
+     */
+    public void onUntagged(Tagging tagging) {
+        var others = otherTags(tagging);
+        afterCommit(() -> update(tagging.getTag().getId(), others, -1));
+    }
+
+    // пары считаются по taggable один раз, как в rebuild: если тег там уже есть, новых пар нет
+    private List<Long> otherTags(Tagging tagging) {
+        var others = jdbcTemplate.queryForList(OTHER_TAGS_SQL, Long.class,
+                tagging.getTaggableType(), tagging.getTaggableId(), tagging.getId());
+        return others.contains(tagging.getTag().getId()) ? List.of() : others;
+    }
+
+    private synchronized void update(Long tagId, List<Long> others, int delta) {
+        if (others.isEmpty()) {
+            return;
+        }
+        var top = topRelated;
+        for (Long other : others) {
+            addPair(matrix, tagId, other, delta);
+            addPair(matrix, other, tagId, delta);
+            top.put(other, topOf(matrix.get(other)));
+        }
+        top.put(tagId, topOf(matrix.get(tagId)));
+    }
+
+    private List<RelatedTag> topOf(CoOccurrenceRow row) {
+        if (row == null) {
+            return List.of();
+        }
+        List<RelatedTag> related = new ArrayList<>(row.size());
+        row.forEach((tagId, count) -> related.add(new RelatedTag(tagId, count)));
+        return related.stream()
+                .sorted(Comparator.comparingInt(RelatedTag::count).reversed()
+                        .thenComparing(RelatedTag::tagId))
+                .limit(topSize)
+                .toList();
+    }
+
+    private List<long[]> loadTagGroups() {
+        List<long[]> groups = new ArrayList<>();
+        List<Long> current = new ArrayList<>();
+        String[] lastKey = {null};
+
+        jdbcTemplate.query(LOAD_SQL, rs -> {
+            String key = rs.getString(1) + ":" + rs.getLong(2);
+            if (!key.equals(lastKey[0]) && !current.isEmpty()) {
+                groups.add(toArray(current));
+                current.clear();
+            }
+            lastKey[0] = key;
+            current.add(rs.getLong(3));
+        });
+
+        if (!current.isEmpty()) {
+            groups.add(toArray(current));
+        }
+        return groups;
+    }
+
+    private static long[] toArray(List<Long> ids) {
+        return ids.stream().mapToLong(Long::longValue).distinct().toArray();
+    }
+
+    private static void addPair(Map<Long, CoOccurrenceRow> target, long a, long b, int delta) {
+        target.computeIfAbsent(a, id -> new CoOccurrenceRow()).add(b, delta);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    public record RelatedTag(Long tagId, int count) {
+    }
+
+    private static final class BuildTask extends RecursiveTask<Map<Long, CoOccurrenceRow>> {
+
+        private final List<long[]> groups;
+        private final int from;
+        private final int to;
+
+        BuildTask(List<long[]> groups, int from, int to) {
+            this.groups = groups;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Map<Long, CoOccurrenceRow> compute() {
+            if (to - from <= SPLIT_THRESHOLD) {
+                Map<Long, CoOccurrenceRow> local = new HashMap<>();
+                for (int i = from; i < to; i++) {
+                    long[] tags = groups.get(i);
+                    for (int a = 0; a < tags.length; a++) {
+                        for (int b = a + 1; b < tags.length; b++) {
+                            addPair(local, tags[a], tags[b], 1);
+                            addPair(local, tags[b], tags[a], 1);
+                        }
+                    }
+                }
+                return local;
+            }
+
+            int mid = (from + to) >>> 1;
+            var left = new BuildTask(groups, from, mid);
+            left.fork();
+            var right = new BuildTask(groups, mid, to).compute();
+            return merge(left.join(), right);
+        }
+
+        private static Map<Long, CoOccurrenceRow> merge(Map<Long, CoOccurrenceRow> into,
+                                                       Map<Long, CoOccurrenceRow> from) {
+            from.forEach((tag, row) -> into.computeIfAbsent(tag, id -> new CoOccurrenceRow()).addAll(row));
+            return into;
+        }
+    }
+}
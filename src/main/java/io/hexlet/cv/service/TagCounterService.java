@@ -0,0 +1,156 @@
+package io.hexlet.cv.service;
+
+import io.hexlet.cv.model.Tag;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Счётчик tags.taggings_count без горячих строк.
+ * Приращения копятся в памяти (по LongAdder на тег) и пачкой уходят в базу по расписанию,
+ * при старте счётчики пересчитываются из taggings, так что потерянные при падении дельты не накапливаются.
+ */
+@Slf4j
+@Service
+public class TagCounterService {
+
+    private static final String FLUSH_SQL =
+            "UPDATE tags SET taggings_count = COALESCE(taggings_count, 0) + ? WHERE id = ?";
+
+    private static final String RECONCILE_SQL =
+            "UPDATE tags SET taggings_count = (SELECT COUNT(*) FROM taggings tg WHERE tg.tag_id = tags.id)";
+
+    private final Map<Long, LongAdder> deltas = new ConcurrentHashMap<>();
+    private final ReentrantReadWriteLock reconcileLock = new ReentrantReadWriteLock();
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final boolean reconcileOnStartup;
+
+    public TagCounterService(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory,
+                             @Value("${app.tags.counter.reconcile-on-startup:true}") boolean reconcileOnStartup) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+        this.reconcileOnStartup = reconcileOnStartup;
+    }
+
+    public void increment(Long tagId) {
+        addAfterCommit(tagId, 1);
+    }
+
+    public void decrement(Long tagId) {
+        addAfterCommit(tagId, -1);
+    }
+
+    public long pendingDelta(Long tagId) {
+        var adder = deltas.get(tagId);
+        return adder == null ? 0 : adder.sum();
+    }
+
+    @Scheduled(fixedDelayString = "${app.tags.counter.flush-interval:5s}")
+    public synchronized void flush() {
+        List<Object[]> batch = new ArrayList<>();
+        for (var entry : deltas.entrySet()) {
+            // sumThenReset атомарен по каждой ячейке, параллельные add не теряются
+            long delta = entry.getValue().sumThenReset();
+            if (delta != 0) {
+                batch.add(new Object[]{delta, entry.getKey()});
+            }
+        }
+
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(FLUSH_SQL, batch);
+            // UPDATE идёт мимо Hibernate, закэшированные теги со старым счётчиком выбрасываем
+            var cache = entityManagerFactory.getCache();
+            batch.forEach(row -> cache.evict(Tag.class, row[1]));
+        } catch (RuntimeException e) {
+            // возвращаем дельты обратно, следующий flush попробует ещё раз
+            batch.forEach(row -> add((Long) row[1], (Long) row[0]));
+            log.warn("Failed to flush {} tag counters", batch.size(), e);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileOnStartup() {
+        if (reconcileOnStartup) {
+            reconcile();
+        }
+    }
+
+    /**
+     * Пересчитывает счётчики из taggings. Транзакции с тегами держат read-блокировку от beforeCommit
+     * до afterCompletion, пересчёт берёт write: всё, что закоммичено до него, уже лежит в дельтах и
+     * сбрасывается, а коммиты после него ждут и их дельты честно уходят в следующий flush.
+     */
+    public synchronized void reconcile() {
+        reconcileLock.writeLock().lock();
+        try {
+            long discarded = 0;
+            for (var adder : deltas.values()) {
+                discarded += adder.sumThenReset();
+            }
+            int updated = jdbcTemplate.update(RECONCILE_SQL);
+            entityManagerFactory.getCache().evict(Tag.class);
+            log.info("Reconciled taggings_count for {} tags, {} pending deltas covered by recount",
+                    updated, discarded);
+        } finally {
+            reconcileLock.writeLock().unlock();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void addAfterCommit(Long tagId, long delta) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            add(tagId, delta);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean locked;
+
+            // коммит и его приращение не разрываются пересчётом: иначе строка попадёт в COUNT и в дельту
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                reconcileLock.readLock().lock();
+                locked = true;
+            }
+
+            @Override
+            public void afterCommit() {
+                add(tagId, delta);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (locked) {
+                    reconcileLock.readLock().unlock();
+                }
+            }
+        });
+    }
+
+    private void add(Long tagId, long delta) {
+        deltas.computeIfAbsent(tagId, id -> new LongAdder()).add(delta);
+    }
+}
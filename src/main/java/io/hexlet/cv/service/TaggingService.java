@@ -0,0 +1,44 @@
+package io.hexlet.cv.service;
+
+import io.hexlet.cv.model.Tag;
+import io.hexlet.cv.model.Tagging;
+import io.hexlet.cv.repository.TaggingRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+public class TaggingService {
+
+    private static final String DEFAULT_CONTEXT = "default";
+
+    private final TaggingRepository taggingRepository;
+    private final TagCounterService tagCounterService;
+    private final TagCoOccurrenceService tagCoOccurrenceService;
+
+    @Transactional
+    public Tagging tag(Tag tag, String taggableType, Long taggableId, Long taggerId) {
+        Tagging tagging = new Tagging();
+        tagging.setTag(tag);
+        tagging.setTaggableType(taggableType);
+        tagging.setTaggableId(taggableId);
+        tagging.setTaggerType("User");
+        tagging.setTaggerId(taggerId);
+        tagging.setContext(DEFAULT_CONTEXT);
+        tagging.setTenant(DEFAULT_CONTEXT);
+        taggingRepository.save(tagging);
+
+        // taggings_count обновится пачкой, строку тега тут не трогаем
+        tagCounterService.increment(tag.getId());
+        tagCoOccurrenceService.onTagged(tagging);
+        return tagging;
+    }
+
+    @Transactional
+    public void untag(Tagging tagging) {
+        taggingRepository.delete(tagging);
+        tagCounterService.decrement(tagging.getTag().getId());
+        tagCoOccurrenceService.onUntagged(tagging);
+    }
+}
@@ -0,0 +1,113 @@
+package io.hexlet.cv.service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.hexlet.cv.config.NotificationProperties;
+import io.hexlet.cv.repository.NotificationRepository;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Количество непрочитанных уведомлений для бейджа.
+ * В кэше лежат только активные пользователи, промах уходит в COUNT по индексу (user_id, state).
+ * Приращения от пакетной записи применяются только к записям, загруженным до неё; COUNT, пересёкшийся
+ * с записью, в кэше не остаётся. Остальные переходы состояния сбрасывают запись пользователя.
+ */
+@Service
+public class UnreadNotificationCounter {
+
+    public static final String STATE_READ = "read";
+
+    private final NotificationRepository notificationRepository;
+    private final Cache<Long, AtomicLong> counts;
+    // пакетные записи в процессе и число завершённых: по ним загрузка узнаёт, что COUNT шёл одновременно с ними
+    private final AtomicInteger writesInFlight = new AtomicInteger();
+    private final AtomicLong writesCompleted = new AtomicLong();
+
+    public UnreadNotificationCounter(NotificationRepository notificationRepository,
+                                     NotificationProperties properties) {
+        this.notificationRepository = notificationRepository;
+        this.counts = CacheBuilder.newBuilder()
+                .maximumSize(properties.getUnreadCacheSize())
+                .expireAfterWrite(properties.getUnreadCacheTtl())
+                .build();
+    }
+
+    public long get(Long userId) {
+        boolean[] stale = new boolean[1];
+        long count;
+        try {
+            count = counts.get(userId, () -> {
+                long completed = writesCompleted.get();
+                boolean writing = writesInFlight.get() > 0;
+                long loaded = notificationRepository.countByUserIdAndState(userId, NotificationService.STATE_NEW);
+                // приращение этой записи могло и попасть в COUNT, и прийти следом
+                stale[0] = writing || writesInFlight.get() > 0 || writesCompleted.get() != completed;
+                return new AtomicLong(loaded);
+            }).get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to count notifications for user " + userId, e.getCause());
+        }
+        if (stale[0]) {
+            counts.invalidate(userId);
+        }
+        return count;
+    }
+
+    /**
+     * Вызывается перед пакетной вставкой уведомлений, парный вызов — {@link #onCreated(Map)}.
+     */
+    public void beforeCreate() {
+        writesInFlight.incrementAndGet();
+    }
+
+    /**
+     * Учитывает только что записанные уведомления. Незакэшированных пользователей не трогаем,
+     * их счётчик прочитается из базы при первом обращении.
+     */
+    public void onCreated(Map<Long, Long> createdPerUser) {
+        try {
+            createdPerUser.forEach((userId, created) -> {
+                var count = counts.getIfPresent(userId);
+                if (count != null) {
+                    count.addAndGet(created);
+                }
+            });
+        } finally {
+            writesCompleted.incrementAndGet();
+            writesInFlight.decrementAndGet();
+        }
+    }
+
+    /**
+     * Сбрасывает счётчик пользователя после коммита: уведомление создано, прочитано или удалено через JPA.
+     */
+    public void invalidateAfterCommit(Long userId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            counts.invalidate(userId);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                counts.invalidate(userId);
+            }
+        });
+    }
+
+    @Transactional
+    public int markAllAsRead(Long userId) {
+        int updated = notificationRepository.updateStateByUserId(
+                userId, NotificationService.STATE_NEW, STATE_READ, LocalDateTime.now());
+        invalidateAfterCommit(userId);
+        return updated;
+    }
+}
@@ -1,11 +1,13 @@
 package io.hexlet.cv.service;
 
+import io.hexlet.cv.dto.userpage.CareerSizeDTO;
+import io.hexlet.cv.dto.userpage.CareerStepDTO;
+import io.hexlet.cv.dto.userpage.CareerTrackDTO;
+import io.hexlet.cv.dto.userpage.RecentAnswerDTO;
+import io.hexlet.cv.dto.userpage.RecommendationDTO;
+import io.hexlet.cv.dto.userpage.ResumeCommentDTO;
+import io.hexlet.cv.dto.userpage.UserResumeDTO;
 import io.hexlet.cv.handler.exception.UserNotFoundException;
-import io.hexlet.cv.model.CareerMember;
-import io.hexlet.cv.model.CareerStepMember;
-import io.hexlet.cv.model.ResumeAnswer;
-import io.hexlet.cv.model.ResumeAnswerComment;
-import io.hexlet.cv.model.ResumeComment;
 import io.hexlet.cv.model.User;
 import io.hexlet.cv.repository.CareerItemRepository;
 import io.hexlet.cv.repository.CareerMemberRepository;
@@ -16,16 +18,18 @@ import io.hexlet.cv.repository.ResumeAnswerRepository;
 import io.hexlet.cv.repository.ResumeCommentRepository;
 import io.hexlet.cv.repository.ResumeRepository;
 import io.hexlet.cv.repository.UserRepository;
-import java.util.Collections;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import lombok.AllArgsConstructor;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @AllArgsConstructor
@@ -40,26 +44,53 @@ public class UserPageSercive {
     private CareerMemberRepository careerMemberRepository;
     private CareerStepMemberRepository careerStepMemberRepository;
     private CareerItemRepository careerItemRepository;
+    private ObservationRegistry observationRegistry;
 
+    /**
+     * Props страницы пользователя. Пользователь читается сразу (нет его — 404), разделы страницы
+     * отдаются ленивыми {@link Supplier}: их вычисляет StreamingInertia, только если раздел попал в ответ.
+     */
+    @Transactional(readOnly = true)
     public Map<String, Object> buildProps(Long userId) {
         Map<String, Object> props = new HashMap<>();
 
-        User mainUserData = userRepository.findById(userId).orElseThrow(() ->
+        User mainUserData = observe("user", () -> userRepository.findById(userId).orElseThrow(() ->
                 new UserNotFoundException("Пользователь не найден")
-        );
+        ));
 
 
         props.putAll(buildUserInfo(mainUserData));
-        props.putAll(buildUserStats(userId));
-        props.put("resumes", buildResumes(userId));
-        props.put("recentAnswers", buildRecentAnswers(userId));
-        props.put("userRecommendation", buildRecommendations(userId));
-        props.put("resumeComments", buildResumeComments(userId));
-        props.put("careerTracks", buildCareerTracks(userId));
+        props.put("totalAnswers", lazy("totalAnswers", () -> resumeAnswerRepository.countByUserId(userId)));
+        props.put("totalComments", lazy("totalComments", () -> resumeAnswerCommentRepository.countByUserId(userId)));
+        props.put("totalLikes", lazy("totalLikes", () -> resumeAnswerLikeRepository.countByAnswerUserId(userId)));
+        props.put("resumes", lazy("resumes", () -> buildResumes(userId)));
+        props.put("recentAnswers", lazy("recentAnswers", () -> buildRecentAnswers(userId)));
+        props.put("userRecommendation", lazy("recommendations", () -> buildRecommendations(userId)));
+        props.put("resumeComments", lazy("resumeComments", () -> buildResumeComments(userId)));
+        props.put("careerTracks", lazy("careerTracks", () -> buildCareerTracks(userId)));
 
         return props;
     }
 
+    // раздел вычисляется уже после выхода из buildProps, в общей read-only транзакции StreamingInertia
+    private <T> Supplier<T> lazy(String part, Supplier<T> builder) {
+        return () -> observe(part, builder);
+    }
+
+    // отдельный спан (и таймер user.page.part) на каждую часть страницы, для списков — число строк
+    private <T> T observe(String part, Supplier<T> builder) {
+        var observation = Observation.createNotStarted("user.page.part", observationRegistry)
+                .contextualName("user-page " + part)
+                .lowCardinalityKeyValue("part", part);
+        return observation.observe(() -> {
+            var result = builder.get();
+            if (result instanceof Collection<?> rows) {
+                observation.highCardinalityKeyValue("rows", String.valueOf(rows.size()));
+            }
+            return result;
+        });
+    }
+
     private Map<String, Object> buildUserInfo(User user) {
         Map<String, Object> info = new HashMap<>();
         info.put("id", user.getId());
@@ -69,120 +100,39 @@ public class UserPageSercive {
         return info;
     }
 
-    private Map<String, Object> buildUserStats(Long userId) {
-        Map<String, Object> stats = new HashMap<>();
-        stats.put("totalAnswers", resumeAnswerRepository.countByUserId(userId));
-        stats.put("totalComments", resumeAnswerCommentRepository.countByUserId(userId));
-        stats.put("totalLikes", resumeAnswerLikeRepository.countByAnswerUserId(userId));
-        return stats;
+    private List<UserResumeDTO> buildResumes(Long userId) {
+        return resumeRepository.findUserPageResumes(userId);
     }
 
-    private List<Map<String, Object>> buildResumes(Long userId) {
-        return Optional.ofNullable(resumeRepository.findByUserId(userId))
-                .filter(list -> !list.isEmpty())
-                .map(list -> list.stream().map(resume -> {
-                    Map<String, Object> resumeMap = new HashMap<>();
-                    resumeMap.put("name", resume.getName());
-                    resumeMap.put("id", resume.getId());
-                    resumeMap.put("summary", resume.getSummary());
-                    resumeMap.put("answerCount", resume.getAnswersCount());
-                    resumeMap.put("impressionsCount", resume.getImpressionsCount());
-                    resumeMap.put("createdAt", resume.getCreatedAt().toString());
-                    return resumeMap;
-                }).collect(Collectors.toList()))
-                .orElseGet(Collections::emptyList);
+    private List<RecentAnswerDTO> buildRecentAnswers(Long userId) {
+        return resumeAnswerRepository.findUserPageAnswers(userId, PageRequest.of(0, 10));
     }
 
-    private List<Map<String, Object>> buildRecentAnswers(Long userId) {
-        Pageable pageable = PageRequest.of(0, 10);
-        List<ResumeAnswer> answers = resumeAnswerRepository
-                .findByUserIdOrderByCreatedAtDesc(userId, pageable);
-
-        return Optional.ofNullable(answers)
-                .filter(list -> !list.isEmpty())
-                .map(list -> list.stream().map(answer -> {
-                    Map<String, Object> answerMap = new HashMap<>();
-                    answerMap.put("resumeTitle", answer.getId());
-                    answerMap.put("content", answer.getContent());
-                    answerMap.put("answerAuthor", answer.getResume().getUser().getFirstName()
-                            + " " + answer.getResume().getUser().getLastName());
-                    answerMap.put("createdAt", answer.getCreatedAt().toString());
-                    answerMap.put("resumeId", answer.getResume().getId());
-                    answerMap.put("userAnswerId", answer.getUser().getId());
-                    return answerMap;
-                }).toList())
-                .orElseGet(Collections::emptyList);
+    private List<RecommendationDTO> buildRecommendations(Long userId) {
+        return resumeAnswerCommentRepository.findUserPageRecommendations(userId);
     }
 
-    private List<Map<String, Object>> buildRecommendations(Long userId) {
-        List<ResumeAnswerComment> comments = resumeAnswerCommentRepository.findByUserId(userId);
-
-        return Optional.ofNullable(comments)
-                .filter(list -> !list.isEmpty())
-                .map(list -> list.stream().map(rec -> {
-                    Map<String, Object> recMap = new HashMap<>();
-                    recMap.put("authorName", rec.getResume().getUser().getFirstName()
-                            + " " + rec.getResume().getUser().getLastName());
-                    recMap.put("AuthorId", rec.getUser().getId());
-                    recMap.put("content", rec.getContent());
-                    recMap.put("recommendationId", rec.getId());
-                    return recMap;
-                }).toList())
-                .orElseGet(Collections::emptyList);
+    private List<ResumeCommentDTO> buildResumeComments(Long userId) {
+        return resumeCommentRepository.findUserPageResumeComments(userId);
     }
 
-    private List<Map<String, Object>> buildResumeComments(Long userId) {
-        List<ResumeComment> comments = resumeCommentRepository.findByResumeUserId(userId);
-
-        return Optional.ofNullable(comments)
-                .filter(list -> !list.isEmpty())
-                .map(list -> list.stream().map(comment -> {
-                    Map<String, Object> commentMap = new HashMap<>();
-                    commentMap.put("authorName",
-                            comment.getUser().getFirstName() + " " + comment.getUser().getLastName());
-                    commentMap.put("authorId", comment.getUser().getId());
-                    commentMap.put("content", comment.getContent());
-                    commentMap.put("resumeId", comment.getResume().getId());
-                    return commentMap;
-                }).toList())
-                .orElseGet(Collections::emptyList);
-    }
+    private List<CareerTrackDTO> buildCareerTracks(Long userId) {
+        List<CareerTrackDTO> tracks = careerMemberRepository.findUserPageTracks(userId);
+        if (tracks.isEmpty()) {
+            return tracks;
+        }
+
+        Map<Long, List<CareerStepDTO>> stepsByMember = careerStepMemberRepository
+                .findUserPageSteps(userId, "COMPLETED").stream()
+                .collect(Collectors.groupingBy(CareerStepDTO::careerMemberId));
+
+        Map<Long, Long> sizeByCareer = careerItemRepository
+                .findCareerSizes(tracks.stream().map(CareerTrackDTO::careerId).toList()).stream()
+                .collect(Collectors.toMap(CareerSizeDTO::careerId, CareerSizeDTO::totalSteps));
 
-    private List<Map<String, Object>> buildCareerTracks(Long userId) {
-        List<CareerMember> members = careerMemberRepository.findByUserId(userId);
-
-        return Optional.ofNullable(members)
-                .filter(list -> !list.isEmpty())
-                .map(list -> list.stream().map(member -> {
-                    Map<String, Object> careerMap = new HashMap<>();
-                    careerMap.put("careerName", member.getCareer().getName());
-                    careerMap.put("status", member.getState().toString());
-                    careerMap.put("finishedAt", member.getFinishedAt());
-
-                    int completedStepsCount = careerStepMemberRepository
-                            .countByCareerMemberIdAndState(member.getId(), "COMPLETED");
-                    int totalSteps = careerItemRepository.countByCareerId(member.getCareer().getId());
-
-                    careerMap.put("completedStepsCount", completedStepsCount);
-                    careerMap.put("totalSteps", totalSteps);
-                    careerMap.put("careerId", member.getCareer().getId());
-                    careerMap.put("careerMemberId", member.getId());
-
-                    List<CareerStepMember> completedSteps =
-                            careerStepMemberRepository.findByCareerMemberIdAndState(member.getId(), "COMPLETED");
-
-                    List<Map<String, Object>> completedStepsData = Optional.ofNullable(completedSteps)
-                            .filter(steps -> !steps.isEmpty())
-                            .map(steps -> steps.stream().map(stepMember -> {
-                                Map<String, Object> stepMap = new HashMap<>();
-                                stepMap.put("stepName", stepMember.getCareerStep().getName());
-                                return stepMap;
-                            }).toList())
-                            .orElseGet(Collections::emptyList);
-
-                    careerMap.put("completedSteps", completedStepsData);
-                    return careerMap;
-                }).toList())
-                .orElseGet(Collections::emptyList);
+        return tracks.stream()
+                .map(track -> track.withSteps(sizeByCareer.getOrDefault(track.careerId(), 0L).intValue(),
+                        stepsByMember.getOrDefault(track.careerMemberId(), List.of())))
+                .toList();
     }
 }
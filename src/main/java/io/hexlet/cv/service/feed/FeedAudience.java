@@ -0,0 +1,88 @@
+package io.hexlet.cv.service.feed;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Кто видит события ресурса: владелец и участники (ответившие, комментировавшие, лайкнувшие).
+ */
+@Component
+public class FeedAudience {
+
+    private static final Map<String, List<Source>> SOURCES = Map.of(
+            "Resume", List.of(
+                    new Source("resumes", "id", "user_id"),
+                    new Source("resume_answers", "resume_id", "user_id"),
+                    new Source("resume_comments", "resume_id", "user_id")),
+            "ResumeAnswer", List.of(
+                    new Source("resume_answers", "id", "user_id"),
+                    new Source("resume_answer_likes", "answer_id", "user_id"),
+                    new Source("resume_answer_comments", "answer_id", "user_id")),
+            "Vacancy", List.of(
+                    new Source("vacancies", "id", "creator_id")));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public FeedAudience(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Аудитория каждого из ресурсов одного типа, по запросу на источник.
+     */
+    public Map<Long, Set<Long>> resolve(String resourceType, Collection<Long> resourceIds) {
+        Map<Long, Set<Long>> audiences = new HashMap<>();
+        if (resourceIds.isEmpty()) {
+            return audiences;
+        }
+
+        for (var source : SOURCES.getOrDefault(resourceType, List.of())) {
+            var sql = "SELECT " + source.resourceColumn() + ", " + source.userColumn()
+                    + " FROM " + source.table()
+                    + " WHERE " + source.resourceColumn() + " IN (" + placeholders(resourceIds.size()) + ")";
+            jdbcTemplate.query(sql, rs -> {
+                audiences.computeIfAbsent(rs.getLong(1), id -> new HashSet<>()).add(rs.getLong(2));
+            }, resourceIds.toArray());
+        }
+        return audiences;
+    }
+
+    /**
+     * Подзапрос id горячих ресурсов типа из feed_hot_resources, в аудиторию которых входит пользователь.
+     * На каждый источник берёт пару параметров (resourceType, userId), см. {@link #membershipArgs}.
+     * Пустая строка — у типа нет источников аудитории.
+     */
+    public String hotMembershipQuery(String resourceType) {
+        return SOURCES.getOrDefault(resourceType, List.of()).stream()
+                .map(source -> "SELECT h.resource_id FROM feed_hot_resources h"
+                        + " JOIN " + source.table() + " s ON s." + source.resourceColumn() + " = h.resource_id"
+                        + " WHERE h.resource_type = ? AND s." + source.userColumn() + " = ?")
+                .collect(Collectors.joining(" UNION "));
+    }
+
+    public List<Object> membershipArgs(String resourceType, Long userId) {
+        int sources = SOURCES.getOrDefault(resourceType, List.of()).size();
+        List<Object> args = new ArrayList<>(sources * 2);
+        for (int i = 0; i < sources; i++) {
+            args.add(resourceType);
+            args.add(userId);
+        }
+        return args;
+    }
+
+    static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    private record Source(String table, String resourceColumn, String userColumn) {
+    }
+}
@@ -0,0 +1,337 @@
+package io.hexlet.cv.service.feed;
+
+import io.hexlet.cv.component.SequenceIdAllocator;
+import io.hexlet.cv.config.FeedProperties;
+import io.hexlet.cv.model.FeedHotResource;
+import io.hexlet.cv.model.FeedItem;
+import io.hexlet.cv.repository.FeedHotResourceRepository;
+import io.hexlet.cv.repository.FeedItemRepository;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Лента активности пользователя.
+ * События раскладываются по лентам получателей асинхронно (fan-out on write): фоновый поток
+ * читает events по возрастанию id и пишет строки в feed_items, лента каждого пользователя обрезается
+ * до capacity. Для ресурсов с аудиторией больше fanout-limit раскладка не делается, их события
+ * подмешиваются из events при чтении (fan-out on read).
+ * Курсор хранится в feed_cursor и сдвигается в одной транзакции со строками лент под блокировкой его строки,
+ * так что узлы не раскладывают одно событие дважды. Через пропуск в id курсор идёт только спустя gap-timeout:
+ * событие с меньшим id могло закоммититься позже. Событие, которое не раскладывается даже отдельно,
+ * попадает в feed_failed_events, и курсор идёт дальше.
+ */
+@Slf4j
+@Service
+public class FeedService {
+
+    private static final String EVENTS_SQL = """
+            SELECT id, user_id, kind, resource_type, resource_id, created_at
+            FROM events WHERE id > ? ORDER BY id LIMIT ?
+            """;
+
+    private static final String CURSOR_SQL = "SELECT last_event_id FROM feed_cursor WHERE id = 1";
+
+    private static final String LOCK_CURSOR_SQL = CURSOR_SQL + " FOR UPDATE";
+
+    private static final String ADVANCE_SQL = "UPDATE feed_cursor SET last_event_id = ? WHERE id = 1";
+
+    private static final String FAILED_SQL =
+            "INSERT INTO feed_failed_events (event_id, error, failed_at) VALUES (?, ?, ?)";
+
+    private static final int ERROR_LENGTH = 1000;
+
+    private static final String HOT_EVENTS_SQL = """
+            SELECT id, user_id, kind, resource_type, resource_id, created_at
+            FROM events
+            WHERE resource_type = ? AND resource_id IN (%s) AND id < ? AND user_id <> ?
+            ORDER BY id DESC LIMIT ?
+            """;
+
+    private static final String INSERT_SQL = """
+            INSERT INTO feed_items (id, user_id, event_id, actor_id, kind, resource_type, resource_id, created_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    // всё старше capacity-й по новизне строки пользователя удаляется
+    private static final String TRIM_SQL = """
+            DELETE FROM feed_items WHERE user_id = ? AND event_id < (
+                SELECT MIN(t.event_id) FROM (
+                    SELECT event_id FROM feed_items WHERE user_id = ? ORDER BY event_id DESC LIMIT ?
+                ) t
+            )
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final FeedItemRepository feedItemRepository;
+    private final FeedHotResourceRepository hotResourceRepository;
+    private final FeedAudience audience;
+    private final FeedProperties properties;
+    private final SequenceIdAllocator sequenceIdAllocator;
+
+    // resourceType -> id горячих ресурсов
+    private final Map<String, Set<Long>> hotResources = new ConcurrentHashMap<>();
+    private volatile boolean hotResourcesLoaded;
+    // первый id пропуска, перед которым стоит курсор, и когда пропуск замечен
+    private long gapId = -1;
+    private long gapSeenAt;
+
+    public FeedService(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                       FeedItemRepository feedItemRepository, FeedHotResourceRepository hotResourceRepository,
+                       FeedAudience audience, FeedProperties properties, SequenceIdAllocator sequenceIdAllocator) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.feedItemRepository = feedItemRepository;
+        this.hotResourceRepository = hotResourceRepository;
+        this.audience = audience;
+        this.properties = properties;
+        this.sequenceIdAllocator = sequenceIdAllocator;
+    }
+
+    /**
+     * Страница ленты, новые сверху. before — event id последней записи предыдущей страницы.
+     */
+    public List<FeedEntry> page(Long userId, Long before, int limit) {
+        long upper = before == null ? Long.MAX_VALUE : before;
+
+        // события ресурса, разложенные до того, как он стал горячим, есть и в feed_items, и в events
+        Map<Long, FeedEntry> entries = new LinkedHashMap<>();
+        feedItemRepository.findByUserIdAndEventIdLessThanOrderByEventIdDesc(userId, upper, PageRequest.of(0, limit))
+                .forEach(item -> entries.put(item.getEventId(), FeedEntry.of(item)));
+
+        // членство в горячих ресурсах проверяется в SQL против feed_hot_resources, списков id в запросе нет
+        boolean merged = false;
+        for (var type : hotResources().keySet()) {
+            var membership = audience.hotMembershipQuery(type);
+            if (membership.isEmpty()) {
+                continue;
+            }
+            List<Object> args = new ArrayList<>();
+            args.add(type);
+            args.addAll(audience.membershipArgs(type, userId));
+            args.add(upper);
+            args.add(userId);
+            args.add(limit);
+            jdbcTemplate.query(HOT_EVENTS_SQL.formatted(membership), rs -> {
+                entries.putIfAbsent(rs.getLong("id"), new FeedEntry(rs.getLong("id"), rs.getLong("user_id"),
+                        rs.getString("kind"), rs.getString("resource_type"), rs.getLong("resource_id"),
+                        rs.getTimestamp("created_at").toLocalDateTime().toString()));
+            }, args.toArray());
+            merged = true;
+        }
+
+        if (!merged) {
+            return new ArrayList<>(entries.values());
+        }
+        return entries.values().stream()
+                .sorted(Comparator.comparingLong(FeedEntry::eventId).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadHotResources() {
+        hotResources();
+    }
+
+    /**
+     * Раскладывает по лентам события, появившиеся с прошлого прохода.
+     */
+    @Scheduled(fixedDelayString = "${app.feed.poll-interval:1s}")
+    public synchronized void fanOut() {
+        reloadHotResources();
+        int settled;
+        do {
+            settled = fanOutBatch();
+        } while (settled == properties.getBatchSize());
+    }
+
+    private int fanOutBatch() {
+        long cursor = jdbcTemplate.queryForObject(CURSOR_SQL, Long.class);
+        var events = settled(jdbcTemplate.query(EVENTS_SQL, (rs, i) -> new EventRow(
+                rs.getLong("id"), rs.getLong("user_id"), rs.getString("kind"),
+                rs.getString("resource_type"), rs.getLong("resource_id"),
+                rs.getTimestamp("created_at").toLocalDateTime()), cursor, properties.getBatchSize()), cursor);
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            commit(events);
+        } catch (RuntimeException e) {
+            log.warn("Feed batch of {} events after {} failed, fanning out one by one", events.size(), cursor, e);
+            events.forEach(this::fanOutAlone);
+        }
+        return events.size();
+    }
+
+    // события до первого незакрытого пропуска в id
+    private List<EventRow> settled(List<EventRow> events, long cursor) {
+        long expected = cursor + 1;
+        for (int i = 0; i < events.size(); i++) {
+            long id = events.get(i).id();
+            if (id != expected && !gapExpired(expected)) {
+                return events.subList(0, i);
+            }
+            expected = id + 1;
+        }
+        return events;
+    }
+
+    // пропуск — событие, закоммиченное позже следующих, или id, потерянный откатом; ждём его gap-timeout
+    private boolean gapExpired(long id) {
+        long now = System.nanoTime();
+        if (gapId != id) {
+            gapId = id;
+            gapSeenAt = now;
+        }
+        return now - gapSeenAt >= properties.getGapTimeout().toNanos();
+    }
+
+    // если и отдельно не раскладывается, событие уходит в feed_failed_events; при недоступной базе
+    // эта запись тоже падает, курсор стоит, и событие берётся снова на следующем проходе
+    private void fanOutAlone(EventRow event) {
+        try {
+            commit(List.of(event));
+        } catch (RuntimeException e) {
+            log.error("Feed event {} cannot be fanned out, moving it to feed_failed_events", event.id(), e);
+            var error = String.valueOf(e.getMessage());
+            transactionTemplate.executeWithoutResult(status -> {
+                if (jdbcTemplate.queryForObject(LOCK_CURSOR_SQL, Long.class) < event.id()) {
+                    jdbcTemplate.update(FAILED_SQL, event.id(),
+                            error.substring(0, Math.min(error.length(), ERROR_LENGTH)),
+                            Timestamp.valueOf(LocalDateTime.now()));
+                    jdbcTemplate.update(ADVANCE_SQL, event.id());
+                }
+            });
+        }
+    }
+
+    // строки лент и курсор коммитятся вместе; то, что другой узел уже разложил, пропускается
+    private void commit(List<EventRow> events) {
+        Map<String, Set<Long>> marked = new HashMap<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            long cursor = jdbcTemplate.queryForObject(LOCK_CURSOR_SQL, Long.class);
+            var fresh = events.stream().filter(event -> event.id() > cursor).toList();
+            if (!fresh.isEmpty()) {
+                write(fresh, marked);
+                jdbcTemplate.update(ADVANCE_SQL, fresh.get(fresh.size() - 1).id());
+            }
+        });
+        // горячими в памяти ресурсы становятся только после коммита их строк
+        marked.forEach((type, ids) -> hotResources.computeIfAbsent(type, t -> ConcurrentHashMap.newKeySet())
+                .addAll(ids));
+    }
+
+    private void write(List<EventRow> events, Map<String, Set<Long>> marked) {
+        var hot = hotResources();
+        Map<String, Set<Long>> idsByType = new HashMap<>();
+        for (var event : events) {
+            if (!hot.getOrDefault(event.resourceType(), Set.of()).contains(event.resourceId())) {
+                idsByType.computeIfAbsent(event.resourceType(), t -> new HashSet<>()).add(event.resourceId());
+            }
+        }
+
+        Map<String, Map<Long, Set<Long>>> audiences = new HashMap<>();
+        idsByType.forEach((type, ids) -> audiences.put(type, audience.resolve(type, ids)));
+
+        List<Object[]> rows = new ArrayList<>();
+        Set<Long> touched = new HashSet<>();
+        for (var event : events) {
+            var recipients = audiences.getOrDefault(event.resourceType(), Map.of())
+                    .getOrDefault(event.resourceId(), Set.of());
+            if (recipients.size() > properties.getFanoutLimit()) {
+                markHot(event.resourceType(), event.resourceId(), marked);
+                continue;
+            }
+
+            var createdAt = Timestamp.valueOf(event.createdAt());
+            for (Long recipient : recipients) {
+                if (recipient.equals(event.userId())) {
+                    continue;
+                }
+                rows.add(new Object[]{null, recipient, event.id(), event.userId(), event.kind(),
+                        event.resourceType(), event.resourceId(), createdAt});
+                touched.add(recipient);
+            }
+        }
+
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        long[] ids = sequenceIdAllocator.next("feed_items_seq", rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            rows.get(i)[0] = ids[i];
+        }
+
+        List<Object[]> trims = touched.stream()
+                .map(userId -> new Object[]{userId, userId, properties.getCapacity()})
+                .toList();
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+        jdbcTemplate.batchUpdate(TRIM_SQL, trims);
+    }
+
+    // вызывается под блокировкой курсора, поэтому проверка и вставка не гоняются с другим узлом
+    private void markHot(String resourceType, Long resourceId, Map<String, Set<Long>> marked) {
+        if (!marked.computeIfAbsent(resourceType, t -> new HashSet<>()).add(resourceId)
+                || hotResourceRepository.existsByResourceTypeAndResourceId(resourceType, resourceId)) {
+            return;
+        }
+
+        var hot = new FeedHotResource();
+        hot.setResourceType(resourceType);
+        hot.setResourceId(resourceId);
+        hotResourceRepository.save(hot);
+        log.info("Resource {}:{} switched to fan-out on read", resourceType, resourceId);
+    }
+
+    private Map<String, Set<Long>> hotResources() {
+        if (!hotResourcesLoaded) {
+            synchronized (hotResources) {
+                if (!hotResourcesLoaded) {
+                    reloadHotResources();
+                }
+            }
+        }
+        return hotResources;
+    }
+
+    // горячим ресурс только становится; о помеченных другим узлом здесь узнают на следующем проходе раскладки
+    private void reloadHotResources() {
+        hotResourceRepository.findAll().forEach(hot -> hotResources
+                .computeIfAbsent(hot.getResourceType(), t -> ConcurrentHashMap.newKeySet())
+                .add(hot.getResourceId()));
+        hotResourcesLoaded = true;
+    }
+
+    public record FeedEntry(Long eventId, Long actorId, String kind, String resourceType, Long resourceId,
+                            String createdAt) {
+
+        static FeedEntry of(FeedItem item) {
+            return new FeedEntry(item.getEventId(), item.getActorId(), item.getKind(), item.getResourceType(),
+                    item.getResourceId(), item.getCreatedAt().toString());
+        }
+    }
+
+    private record EventRow(Long id, Long userId, String kind, String resourceType, Long resourceId,
+                            LocalDateTime createdAt) {
+    }
+}
@@ -0,0 +1,71 @@
+package io.hexlet.cv.service.matching;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Разреженный L2-нормированный вектор признаков: отсортированные id признаков и их веса.
+ */
+public record FeatureVector(int[] features, float[] weights) {
+
+    public static final FeatureVector EMPTY = new FeatureVector(new int[0], new float[0]);
+
+    public static FeatureVector of(Map<String, Float> named, FeatureDictionary dictionary) {
+        if (named.isEmpty()) {
+            return EMPTY;
+        }
+
+        int[] ids = new int[named.size()];
+        float[] raw = new float[named.size()];
+        int i = 0;
+        for (var entry : named.entrySet()) {
+            ids[i] = dictionary.id(entry.getKey());
+            raw[i] = entry.getValue();
+            i++;
+        }
+
+        // сортируем пары по id признака, чтобы dot работал слиянием
+        Integer[] order = new Integer[ids.length];
+        for (int j = 0; j < order.length; j++) {
+            order[j] = j;
+        }
+        Arrays.sort(order, (a, b) -> Integer.compare(ids[a], ids[b]));
+
+        int[] features = new int[ids.length];
+        float[] weights = new float[ids.length];
+        double norm = 0;
+        for (int j = 0; j < order.length; j++) {
+            features[j] = ids[order[j]];
+            weights[j] = raw[order[j]];
+            norm += weights[j] * weights[j];
+        }
+
+        float inv = (float) (1 / Math.sqrt(norm));
+        for (int j = 0; j < weights.length; j++) {
+            weights[j] *= inv;
+        }
+        return new FeatureVector(features, weights);
+    }
+
+    public int size() {
+        return features.length;
+    }
+
+    public double dot(FeatureVector other) {
+        int i = 0;
+        int j = 0;
+        double sum = 0;
+        while (i < features.length && j < other.features.length) {
+            int a = features[i];
+            int b = other.features[j];
+            if (a == b) {
+                sum += weights[i++] * other.weights[j++];
+            } else if (a < b) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return sum;
+    }
+}
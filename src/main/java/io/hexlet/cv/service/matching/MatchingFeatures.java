@@ -0,0 +1,77 @@
+package io.hexlet.cv.service.matching;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Превращает поля резюме и вакансии в именованные признаки с весами.
+ * Навыки у обеих сторон попадают в общее пространство "skill:*", поэтому тег Java резюме
+ * совпадает и с тегом, и с programmingLanguage вакансии. Из свободного текста skillsDescription
+ * навыками становятся только слова из словаря навыков (имена тегов и языки вакансий), остальное — шум.
+ */
+public final class MatchingFeatures {
+
+    public static final String SKILL_PREFIX = "skill:";
+
+    private static final float TAG_WEIGHT = 1.0f;
+    private static final float LANGUAGE_WEIGHT = 1.0f;
+    private static final float SKILL_TEXT_WEIGHT = 0.5f;
+    private static final float CITY_WEIGHT = 0.5f;
+    private static final float RELOCATION_WEIGHT = 0.3f;
+
+    private static final String RELOCATE = "relocate";
+    private static final Pattern TOKEN_SPLIT = Pattern.compile("[^\\p{L}\\p{N}+#]+");
+    private static final Set<String> NO_RELOCATION = Set.of("", "нет", "невозможен", "no", "false");
+
+    private MatchingFeatures() {
+    }
+
+    public static Map<String, Float> resume(String skillsDescription, String city, String relocation,
+                                            Collection<String> tags, Set<String> skillVocabulary) {
+        Map<String, Float> features = new HashMap<>();
+        tags.forEach(tag -> put(features, SKILL_PREFIX + normalize(tag), TAG_WEIGHT));
+
+        if (skillsDescription != null) {
+            for (String token : TOKEN_SPLIT.split(skillsDescription.toLowerCase(Locale.ROOT))) {
+                if (skillVocabulary.contains(token)) {
+                    put(features, SKILL_PREFIX + token, SKILL_TEXT_WEIGHT);
+                }
+            }
+        }
+
+        if (city != null && !city.isBlank()) {
+            put(features, "city:" + normalize(city), CITY_WEIGHT);
+        }
+        if (relocation != null && !NO_RELOCATION.contains(normalize(relocation))) {
+            put(features, RELOCATE, RELOCATION_WEIGHT);
+        }
+        return features;
+    }
+
+    public static Map<String, Float> vacancy(String programmingLanguage, String cityName, Collection<String> tags) {
+        Map<String, Float> features = new HashMap<>();
+        tags.forEach(tag -> put(features, SKILL_PREFIX + normalize(tag), TAG_WEIGHT));
+
+        if (programmingLanguage != null && !programmingLanguage.isBlank()) {
+            put(features, SKILL_PREFIX + normalize(programmingLanguage), LANGUAGE_WEIGHT);
+        }
+        if (cityName != null && !cityName.isBlank()) {
+            put(features, "city:" + normalize(cityName), CITY_WEIGHT);
+        }
+        // любая вакансия подходит кандидату, готовому к переезду
+        put(features, RELOCATE, RELOCATION_WEIGHT);
+        return features;
+    }
+
+    private static void put(Map<String, Float> features, String name, float weight) {
+        features.merge(name, weight, Math::max);
+    }
+
+    public static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+}
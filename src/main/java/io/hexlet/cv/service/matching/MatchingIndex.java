@@ -0,0 +1,157 @@
+package io.hexlet.cv.service.matching;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+/**
+ * Неизменяемый индекс одной стороны (резюме или вакансии) для поиска top-k.
+ * Кандидаты набираются по инвертированному индексу только из признаков-навыков,
+ * частые признаки вроде города лишь уточняют итоговый скор.
+ */
+public final class MatchingIndex {
+
+    private static final int PARALLEL_THRESHOLD = 50_000;
+    private static final int CHUNK_SIZE = 16_384;
+
+    private final long[] ids;
+    private final FeatureVector[] vectors;
+    private final Map<Long, Integer> positions;
+    private final Map<Integer, int[]> postings;
+    private final IntPredicate candidateFeature;
+
+    private MatchingIndex(long[] ids, FeatureVector[] vectors, IntPredicate candidateFeature) {
+        this.ids = ids;
+        this.vectors = vectors;
+        this.candidateFeature = candidateFeature;
+        this.positions = new HashMap<>(ids.length * 2);
+        for (int i = 0; i < ids.length; i++) {
+            positions.put(ids[i], i);
+        }
+        this.postings = buildPostings(vectors, candidateFeature);
+    }
+
+    public static MatchingIndex build(long[] ids, FeatureVector[] vectors, IntPredicate candidateFeature) {
+        return new MatchingIndex(ids, vectors, candidateFeature);
+    }
+
+    public static MatchingIndex empty() {
+        return new MatchingIndex(new long[0], new FeatureVector[0], f -> false);
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    public FeatureVector vectorOf(Long id) {
+        var position = positions.get(id);
+        return position == null ? null : vectors[position];
+    }
+
+    public List<Match> topK(FeatureVector query, int k) {
+        if (k <= 0 || query.size() == 0) {
+            return List.of();
+        }
+
+        int[] candidates = candidatesOf(query);
+        if (candidates.length < PARALLEL_THRESHOLD) {
+            return toSortedList(scoreRange(query, candidates, 0, candidates.length, k));
+        }
+
+        int chunks = (candidates.length + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        var merged = IntStream.range(0, chunks).parallel()
+                .mapToObj(c -> scoreRange(query, candidates, c * CHUNK_SIZE,
+                        Math.min(candidates.length, (c + 1) * CHUNK_SIZE), k))
+                .reduce((left, right) -> {
+                    right.forEach(match -> offer(left, match, k));
+                    return left;
+                })
+                .orElseGet(() -> new PriorityQueue<>(Match.BY_SCORE));
+        return toSortedList(merged);
+    }
+
+    private int[] candidatesOf(FeatureVector query) {
+        var seen = new BitSet(ids.length);
+        int[] features = query.features();
+        for (int feature : features) {
+            if (!candidateFeature.test(feature)) {
+                continue;
+            }
+            var docs = postings.get(feature);
+            if (docs != null) {
+                for (int doc : docs) {
+                    seen.set(doc);
+                }
+            }
+        }
+        return seen.stream().toArray();
+    }
+
+    private PriorityQueue<Match> scoreRange(FeatureVector query, int[] candidates, int from, int to, int k) {
+        var heap = new PriorityQueue<>(Match.BY_SCORE);
+        for (int i = from; i < to; i++) {
+            int doc = candidates[i];
+            double score = query.dot(vectors[doc]);
+            if (heap.size() < k) {
+                heap.add(new Match(ids[doc], score));
+            } else if (score > heap.peek().score()) {
+                heap.poll();
+                heap.add(new Match(ids[doc], score));
+            }
+        }
+        return heap;
+    }
+
+    private static void offer(PriorityQueue<Match> heap, Match match, int k) {
+        if (heap.size() < k) {
+            heap.add(match);
+        } else if (match.score() > heap.peek().score()) {
+            heap.poll();
+            heap.add(match);
+        }
+    }
+
+    private static List<Match> toSortedList(PriorityQueue<Match> heap) {
+        var result = new ArrayList<>(heap);
+        result.sort(Match.BY_SCORE.reversed());
+        return result;
+    }
+
+    private static Map<Integer, int[]> buildPostings(FeatureVector[] vectors, IntPredicate candidateFeature) {
+        Map<Integer, int[]> counts = new HashMap<>();
+        for (var vector : vectors) {
+            for (int feature : vector.features()) {
+                if (candidateFeature.test(feature)) {
+                    counts.computeIfAbsent(feature, f -> new int[1])[0]++;
+                }
+            }
+        }
+
+        Map<Integer, int[]> result = new HashMap<>(counts.size() * 2);
+        Map<Integer, int[]> fill = new HashMap<>(counts.size() * 2);
+        counts.forEach((feature, count) -> {
+            result.put(feature, new int[count[0]]);
+            fill.put(feature, new int[1]);
+        });
+
+        for (int doc = 0; doc < vectors.length; doc++) {
+            for (int feature : vectors[doc].features()) {
+                var docs = result.get(feature);
+                if (docs != null) {
+                    docs[fill.get(feature)[0]++] = doc;
+                }
+            }
+        }
+        return result;
+    }
+
+    public record Match(Long id, double score) {
+        static final Comparator<Match> BY_SCORE = Comparator.comparingDouble(Match::score);
+    }
+}
@@ -0,0 +1,130 @@
+package io.hexlet.cv.service.matching;
+
+import io.hexlet.cv.service.matching.MatchingIndex.Match;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Подбор вакансий под резюме и резюме под вакансию.
+ * Обе стороны держатся в памяти как разреженные векторы, индекс перестраивается по расписанию.
+ * Отдаётся через MatchingController.
+ */
+@Slf4j
+@Service
+public class MatchingService {
+
+    // больше в ответ не отдаём, limit приходит из запроса
+    public static final int MAX_LIMIT = 100;
+
+    private static final String RESUMES_SQL =
+            "SELECT id, skills_description, city, relocation FROM resumes";
+
+    private static final String VACANCIES_SQL =
+            "SELECT id, programming_language, city_name FROM vacancies WHERE state = 'published'";
+
+    private static final String TAGS_SQL = """
+            SELECT tg.taggable_type, tg.taggable_id, t.name
+            FROM taggings tg JOIN tags t ON t.id = tg.tag_id
+            WHERE tg.taggable_type IN ('Resume', 'Vacancy')
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile Snapshot snapshot = new Snapshot(MatchingIndex.empty(), MatchingIndex.empty());
+
+    public MatchingService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public List<Match> findVacanciesForResume(Long resumeId, int limit) {
+        var current = snapshot;
+        var query = current.resumes().vectorOf(resumeId);
+        return query == null ? List.of() : current.vacancies().topK(query, Math.min(limit, MAX_LIMIT));
+    }
+
+    public List<Match> findResumesForVacancy(Long vacancyId, int limit) {
+        var current = snapshot;
+        var query = current.vacancies().vectorOf(vacancyId);
+        return query == null ? List.of() : current.resumes().topK(query, Math.min(limit, MAX_LIMIT));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${app.matching.rebuild-interval:15m}",
+            fixedDelayString = "${app.matching.rebuild-interval:15m}")
+    public void rebuild() {
+        Map<String, List<String>> tags = loadTags();
+        var dictionary = new FeatureDictionary();
+
+        // словарь навыков для свободного текста резюме: все теги и языки опубликованных вакансий
+        Set<String> skillVocabulary = new HashSet<>();
+        tags.values().forEach(names -> names.forEach(name -> skillVocabulary.add(MatchingFeatures.normalize(name))));
+
+        List<Long> vacancyIds = new ArrayList<>();
+        List<FeatureVector> vacancyVectors = new ArrayList<>();
+        jdbcTemplate.query(VACANCIES_SQL, rs -> {
+            long id = rs.getLong("id");
+            var language = rs.getString("programming_language");
+            if (language != null && !language.isBlank()) {
+                skillVocabulary.add(MatchingFeatures.normalize(language));
+            }
+            var features = MatchingFeatures.vacancy(language, rs.getString("city_name"),
+                    tags.getOrDefault("Vacancy:" + id, List.of()));
+            vacancyIds.add(id);
+            vacancyVectors.add(FeatureVector.of(features, dictionary));
+        });
+
+        List<Long> resumeIds = new ArrayList<>();
+        List<FeatureVector> resumeVectors = new ArrayList<>();
+        jdbcTemplate.query(RESUMES_SQL, rs -> {
+            long id = rs.getLong("id");
+            var features = MatchingFeatures.resume(rs.getString("skills_description"), rs.getString("city"),
+                    rs.getString("relocation"), tags.getOrDefault("Resume:" + id, List.of()), skillVocabulary);
+            resumeIds.add(id);
+            resumeVectors.add(FeatureVector.of(features, dictionary));
+        });
+
+        var skills = skillFeatures(dictionary);
+        snapshot = new Snapshot(
+                MatchingIndex.build(toArray(resumeIds), resumeVectors.toArray(FeatureVector[]::new), skills::get),
+                MatchingIndex.build(toArray(vacancyIds), vacancyVectors.toArray(FeatureVector[]::new), skills::get));
+        log.info("Built matching index: {} resumes, {} vacancies, {} features",
+                resumeIds.size(), vacancyIds.size(), dictionary.size());
+    }
+
+    private Map<String, List<String>> loadTags() {
+        Map<String, List<String>> tags = new HashMap<>();
+        jdbcTemplate.query(TAGS_SQL, rs -> {
+            String key = rs.getString(1) + ":" + rs.getLong(2);
+            tags.computeIfAbsent(key, k -> new ArrayList<>()).add(rs.getString(3));
+        });
+        return tags;
+    }
+
+    private static BitSet skillFeatures(FeatureDictionary dictionary) {
+        var skills = new BitSet(dictionary.size());
+        for (int id = 0; id < dictionary.size(); id++) {
+            if (dictionary.name(id).startsWith(MatchingFeatures.SKILL_PREFIX)) {
+                skills.set(id);
+            }
+        }
+        return skills;
+    }
+
+    private static long[] toArray(List<Long> ids) {
+        return ids.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private record Snapshot(MatchingIndex resumes, MatchingIndex vacancies) {
+    }
+}
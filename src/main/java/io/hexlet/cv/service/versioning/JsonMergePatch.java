@@ -0,0 +1,97 @@
+package io.hexlet.cv.service.versioning;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * JSON Merge Patch (RFC 7386): diff двух состояний и его применение.
+ * null в патче означает удаление поля, поэтому null-поля состояний считаются отсутствующими.
+ */
+public final class JsonMergePatch {
+
+    private JsonMergePatch() {
+    }
+
+    /**
+     * Патч, который превращает from в to. Для одинаковых состояний — пустой объект.
+     */
+    public static ObjectNode diff(ObjectNode from, ObjectNode to) {
+        var patch = JsonNodeFactory.instance.objectNode();
+
+        from.fieldNames().forEachRemaining(name -> {
+            if (isAbsent(to.get(name)) && !isAbsent(from.get(name))) {
+                patch.putNull(name);
+            }
+        });
+
+        to.fields().forEachRemaining(field -> {
+            var name = field.getKey();
+            var target = field.getValue();
+            var source = from.get(name);
+            if (isAbsent(target) || target.equals(source)) {
+                return;
+            }
+
+            if (target.isObject() && source != null && source.isObject()) {
+                var nested = diff((ObjectNode) source, (ObjectNode) target);
+                if (!nested.isEmpty()) {
+                    patch.set(name, nested);
+                }
+            } else {
+                patch.set(name, withoutNulls(target));
+            }
+        });
+        return patch;
+    }
+
+    /**
+     * Применяет патч к копии state.
+     */
+    public static ObjectNode apply(ObjectNode state, ObjectNode patch) {
+        var result = state.deepCopy();
+        patch.fields().forEachRemaining(field -> {
+            var name = field.getKey();
+            var value = field.getValue();
+            if (value.isNull()) {
+                result.remove(name);
+            } else if (value.isObject()) {
+                var current = result.get(name);
+                var base = current != null && current.isObject()
+                        ? (ObjectNode) current
+                        : JsonNodeFactory.instance.objectNode();
+                result.set(name, apply(base, (ObjectNode) value));
+            } else {
+                result.set(name, value);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Копия узла без null-полей на любом уровне вложенности, включая объекты внутри массивов.
+     * Сами null-элементы массива остаются: это значения, а не отсутствующие поля.
+     */
+    public static JsonNode withoutNulls(JsonNode node) {
+        if (node.isArray()) {
+            var result = JsonNodeFactory.instance.arrayNode(node.size());
+            node.forEach(element -> result.add(withoutNulls(element)));
+            return result;
+        }
+        if (!node.isObject()) {
+            return node;
+        }
+
+        var result = JsonNodeFactory.instance.objectNode();
+        node.fields().forEachRemaining(field -> {
+            if (!field.getValue().isNull()) {
+                result.set(field.getKey(), withoutNulls(field.getValue()));
+            }
+        });
+        return result;
+    }
+
+    private static boolean isAbsent(JsonNode node) {
+        return node == null || node.isNull();
+    }
+}
@@ -0,0 +1,141 @@
+package io.hexlet.cv.service.versioning;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.hexlet.cv.model.Version;
+import io.hexlet.cv.repository.VersionRepository;
+import jakarta.persistence.EntityManager;
+import java.util.List;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Журнал версий в таблице versions.
+ * Каждая версия хранит merge patch к предыдущей в object_changes, а каждая snapshot-every-я
+ * дополнительно полный снимок в object. Любая версия восстанавливается из ближайшего снимка
+ * не более чем snapshot-every патчами.
+ */
+@Slf4j
+@Service
+public class VersioningService {
+
+    private final VersionRepository versionRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final int snapshotEvery;
+
+    public VersioningService(VersionRepository versionRepository, EntityManager entityManager,
+                             ObjectMapper objectMapper,
+                             @Value("${app.versioning.snapshot-every:10}") int snapshotEvery) {
+        this.versionRepository = versionRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.snapshotEvery = snapshotEvery;
+    }
+
+    /**
+     * Записывает версию состояния state. Вызывается в транзакции изменения сущности:
+     * строка версии уходит в базу в том же flush, что и UPDATE самой сущности.
+     * Параллельные записи версий одного элемента идут по очереди через блокировку его первой версии,
+     * иначе обе построили бы патч от одного и того же предыдущего состояния.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Version record(String itemType, Long itemId, String event, String whodunnit, Object state) {
+        var current = (ObjectNode) JsonMergePatch.withoutNulls(objectMapper.valueToTree(state));
+
+        // без версий блокировать нечего: одновременные первые версии обе пишутся снимками и друг от друга не зависят
+        versionRepository.findFirstByItemTypeAndItemIdOrderByIdAsc(itemType, itemId);
+        var chain = latestChain(itemType, itemId);
+        var previous = replay(chain);
+
+        var version = new Version();
+        version.setItemType(itemType);
+        version.setItemId(itemId);
+        version.setEvent(event);
+        version.setWhodunnit(whodunnit);
+        version.setObjectChanges(write(JsonMergePatch.diff(previous, current)));
+        // цепочка от снимка не длиннее snapshotEvery, иначе восстановление становится дороже записи
+        if (chain.isEmpty() || chain.size() >= snapshotEvery) {
+            version.setObject(write(current));
+        }
+
+        entityManager.persist(version);
+        return version;
+    }
+
+    /**
+     * Состояние сущности на момент версии versionId.
+     */
+    @Transactional(readOnly = true)
+    public ObjectNode reconstruct(String itemType, Long itemId, Long versionId) {
+        var snapshot = versionRepository
+                .findFirstByItemTypeAndItemIdAndIdLessThanEqualAndObjectIsNotNullOrderByIdDesc(
+                        itemType, itemId, versionId);
+        if (snapshot.isEmpty()) {
+            return JsonNodeFactory.instance.objectNode();
+        }
+
+        var state = read(snapshot.get().getObject());
+        var patches = versionRepository.findByItemTypeAndItemIdAndIdGreaterThanAndIdLessThanEqualOrderByIdAsc(
+                itemType, itemId, snapshot.get().getId(), versionId);
+        for (var version : patches) {
+            state = JsonMergePatch.apply(state, read(version.getObjectChanges()));
+        }
+        return state;
+    }
+
+    // последний снимок и все версии после него, по возрастанию id
+    private List<Version> latestChain(String itemType, Long itemId) {
+        var snapshot = versionRepository.findFirstByItemTypeAndItemIdAndObjectIsNotNullOrderByIdDesc(itemType, itemId);
+        if (snapshot.isEmpty()) {
+            return List.of();
+        }
+
+        var tail = versionRepository.findByItemTypeAndItemIdAndIdGreaterThanOrderByIdAsc(
+                itemType, itemId, snapshot.get().getId());
+        return Stream.concat(Stream.of(snapshot.get()), tail.stream()).toList();
+    }
+
+    private ObjectNode replay(List<Version> chain) {
+        if (chain.isEmpty()) {
+            return JsonNodeFactory.instance.objectNode();
+        }
+
+        var state = read(chain.get(0).getObject());
+        for (var version : chain.subList(1, chain.size())) {
+            state = JsonMergePatch.apply(state, read(version.getObjectChanges()));
+        }
+        return state;
+    }
+
+    private ObjectNode read(String json) {
+        if (json == null) {
+            return JsonNodeFactory.instance.objectNode();
+        }
+
+        try {
+            var node = objectMapper.readTree(json);
+            if (node.isObject()) {
+                return (ObjectNode) node;
+            }
+        } catch (JsonProcessingException e) {
+            log.debug("Version payload is not JSON, treating it as empty state");
+        }
+        // старые строки в стиле paper_trail хранят в object произвольный текст
+        return JsonNodeFactory.instance.objectNode();
+    }
+
+    private String write(ObjectNode node) {
+        try {
+            return objectMapper.writeValueAsString(node);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize version payload", e);
+        }
+    }
+}
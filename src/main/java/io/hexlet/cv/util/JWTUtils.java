@@ -18,6 +18,8 @@ import org.springframework.stereotype.Component;
 @RequiredArgsConstructor
 public class JWTUtils {
 
+    public static final String USER_ID_CLAIM = "uid";
+
     private final JwtEncoder encoder;
     private final JwtProperties jwtProperties;
     private final JwtDecoder decoder;
@@ -36,6 +38,8 @@ public class JWTUtils {
                 .expiresAt(now.plus(jwtProperties.getAccessTokenValiditySeconds(), ChronoUnit.SECONDS))
                 .subject(username)
                 .claim("roles", List.of(role))
+                // id в токене, чтобы не ходить в users ради бейджей и прочего на каждой странице
+                .claim(USER_ID_CLAIM, user.getId())
                 .build();
         return this.encoder.encode(JwtEncoderParameters.from(claims)).getTokenValue();
     }
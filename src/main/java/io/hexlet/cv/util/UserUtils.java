@@ -3,7 +3,9 @@ package io.hexlet.cv.util;
 import io.hexlet.cv.model.User;
 import io.hexlet.cv.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -15,13 +17,33 @@ public class UserUtils {
 
     public User getCurrentUser() {
         var authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication == null || !authentication.isAuthenticated()) {
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
             return null;
         }
         var email = authentication.getName();
         return userRepository.findByEmail(email).get();
     }
 
+    // id из access-токена, без запроса в базу; null для анонимов и старых токенов
+    public Long getTokenUserId() {
+        var authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication instanceof JwtAuthenticationToken jwtAuth
+                && jwtAuth.getToken().getClaims().get(JWTUtils.USER_ID_CLAIM) instanceof Number id) {
+            return id.longValue();
+        }
+        return null;
+    }
+
+    public Long getCurrentUserId() {
+        var id = getTokenUserId();
+        if (id != null) {
+            return id;
+        }
+        var user = getCurrentUser();
+        return user == null ? null : user.getId();
+    }
+
     public boolean isAuthor(long userId) {
         var userAuthorEmail = userRepository.findById(userId).get().getEmail();
         var authentication = SecurityContextHolder.getContext().getAuthentication();
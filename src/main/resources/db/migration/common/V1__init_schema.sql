@@ -0,0 +1,521 @@
+-- Схема на момент перехода с ddl-auto на миграции: таблицы, последовательности pooled-lo, индексы и внешние ключи.
+-- Пишется так, чтобы выполнялась и на PostgreSQL, и на H2 (dev, тесты).
+
+CREATE SEQUENCE users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE resumes_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE resume_works_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE resume_educations_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE resume_answers_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE resume_answer_likes_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE resume_answer_comments_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE resume_comments_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE careers_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE career_steps_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE career_items_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE career_members_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE career_step_members_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE career_member_versions_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE countries_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE vacancies_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE tags_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE taggings_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE impressions_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE versions_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE notifications_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE event_outbox_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE feed_items_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE feed_hot_resources_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE page_sections_seq START WITH 1 INCREMENT BY 50;
+-- id событий служат курсором ленты, поэтому без блоков
+CREATE SEQUENCE events_seq START WITH 1 INCREMENT BY 1;
+
+CREATE TABLE users (
+    id BIGINT NOT NULL,
+    email VARCHAR(255),
+    first_name VARCHAR(255),
+    last_name VARCHAR(255),
+    encrypted_password VARCHAR(255),
+    reset_password_token VARCHAR(255),
+    reset_password_sent_at TIMESTAMP(6),
+    remember_created_at TIMESTAMP(6),
+    sign_in_count INTEGER,
+    current_sign_in_at TIMESTAMP(6),
+    last_sign_in_at TIMESTAMP(6),
+    current_sign_in_ip VARCHAR(255),
+    last_sign_in_ip VARCHAR(255),
+    confirmation_token VARCHAR(255),
+    confirmed_at TIMESTAMP(6),
+    confirmation_sent_at TIMESTAMP(6),
+    unconfirmed_email VARCHAR(255),
+    failed_attempts INTEGER,
+    unlock_token VARCHAR(255),
+    locked_at TIMESTAMP(6),
+    provider VARCHAR(255),
+    uid VARCHAR(255),
+    resume_answer_likes_count INTEGER,
+    about VARCHAR(255),
+    resume_mail_enabled BOOLEAN,
+    bounced_email BOOLEAN,
+    marked_as_spam BOOLEAN,
+    email_disabled_delivery BOOLEAN,
+    role VARCHAR(255),
+    state VARCHAR(255),
+    locale VARCHAR(255),
+    created_at TIMESTAMP(6),
+    updated_at TIMESTAMP(6),
+    CONSTRAINT pk_users PRIMARY KEY (id)
+);
+
+CREATE TABLE resumes (
+    id BIGINT NOT NULL,
+    state VARCHAR(255),
+    name VARCHAR(255) NOT NULL,
+    user_id BIGINT NOT NULL,
+    url VARCHAR(255),
+    summary TEXT,
+    skills_description TEXT,
+    github_url VARCHAR(255),
+    awards_description TEXT,
+    english_fluency VARCHAR(255),
+    impressions_count INTEGER,
+    answers_count INTEGER NOT NULL,
+    hexlet_url VARCHAR(255),
+    contact VARCHAR(255),
+    locale VARCHAR(255),
+    city VARCHAR(255),
+    relocation VARCHAR(255),
+    contact_phone VARCHAR(255),
+    contact_email VARCHAR(255),
+    contact_telegram VARCHAR(255),
+    evaluated_ai BOOLEAN,
+    evaluated_ai_state VARCHAR(255),
+    projects_description TEXT,
+    about_myself TEXT,
+    created_at TIMESTAMP(6),
+    updated_at TIMESTAMP(6),
+    CONSTRAINT pk_resumes PRIMARY KEY (id)
+);
+
+CREATE TABLE resume_works (
+    id BIGINT NOT NULL,
+    resume_id BIGINT NOT NULL,
+    company VARCHAR(255),
+    position VARCHAR(255),
+    begin_date DATE,
+    end_date DATE,
+    description VARCHAR(255),
+    current BOOLEAN,
+    company_description TEXT,
+    created_at TIMESTAMP(6),
+    updated_at TIMESTAMP(6),
+    CONSTRAINT pk_resume_works PRIMARY KEY (id)
+);
+
+CREATE TABLE resume_educations (
+    id BIGINT NOT NULL,
+    resume_id BIGINT NOT NULL,
+    institution VARCHAR(255),
+    faculty VARCHAR(255),
+    begin_date DATE,
+    end_date DATE,
+    description VARCHAR(255),
+    current BOOLEAN,
+    created_at TIMESTAMP(6),
+    updated_at TIMESTAMP(6),
+    CONSTRAINT pk_resume_educations PRIMARY KEY (id)
+);
+
+CREATE TABLE resume_answers (
+    id BIGINT NOT NULL,
+    resume_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    content TEXT,
+    likes_count INTEGER,
+    applying_state VARCHAR(255),
+    created_at TIMESTAMP(6),
+    updated_at TIMESTAMP(6),
+    CONSTRAINT pk_resume_answers PRIMARY KEY (id)
+);
+
+CREATE TABLE resume_answer_likes (
+    id BIGINT NOT NULL,
+    resume_id BIGINT NOT NULL,
+    answer_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    created_at TIMESTAMP(6),
+    updated_at TIMESTAMP(6),
+    CONSTRAINT pk_resume_answer_likes PRIMARY KEY (id)
+);
+
+CREATE TABLE resume_answer_comments (
+    id BIGINT NOT NULL,
+    resume_id BIGINT NOT NULL,
+    answer_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    answer_user_id BIGINT NOT NULL,
+    content VARCHAR(255),
+    created_at TIMESTAMP(6),
+    updated_at TIMESTAMP(6),
+    CONSTRAINT pk_resume_answer_comments PRIMARY KEY (id)
+);
+
+CREATE TABLE resume_comments (
+    id BIGINT NOT NULL,
+    resume_id BIGINT,
+    user_id BIGINT,
+    content VARCHAR(255),
+    created_at TIMESTAMP(6),
+    updated_at TIMESTAMP(6),
+    CONSTRAINT pk_resume_comments PRIMARY KEY (id)
+);
+
+CREATE TABLE careers (
+    id BIGINT NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    description TEXT NOT NULL,
+    slug VARCHAR(255) NOT NULL,
+    locale VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP(6),
+    updated_at TIMESTAMP(6),
+    CONSTRAINT pk_careers PRIMARY KEY (id)
+);
+
+CREATE TABLE career_steps (
+    id BIGINT NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    description TEXT NOT NULL,
+    tasks_text TEXT NOT NULL,
+    review_needed BOOLEAN,
+    locale VARCHAR(255) NOT NULL,
+    notification_kind VARCHAR(255),
+    created_at TIMESTAMP(6),
+    updated_at TIMESTAMP(6),
+    CONSTRAINT pk_career_steps PRIMARY KEY (id)
+);
+
+CREATE TABLE career_items (
+    id BIGINT NOT NULL,
+    "order" INTEGER,
+    career_id BIGINT NOT NULL,
+    career_step_id BIGINT NOT NULL,
+    created_at TIMESTAMP(6),
+    updated_at TIMESTAMP(6),
+    CONSTRAINT pk_career_items PRIMARY KEY (id)
+);
+
+CREATE TABLE career_members (
+    id BIGINT NOT NULL,
+    career_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    state VARCHAR(255) NOT NULL,
+    finished_at TIMESTAMP(6),
+    created_at TIMESTAMP(6),
+    updated_at TIMESTAMP(6),
+    CONSTRAINT pk_career_members PRIMARY KEY (id)
+);
+
+CREATE TABLE career_step_members (
+    id BIGINT NOT NULL,
+    career_step_id BIGINT NOT NULL,
+    career_member_id BIGINT NOT NULL,
+    state VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP(6),
+    updated_at TIMESTAMP(6),
+    CONSTRAINT pk_career_step_members PRIMARY KEY (id)
+);
+
+CREATE TABLE career_member_versions (
+    id BIGINT NOT NULL,
+    item_type VARCHAR(255) NOT NULL,
+    item_id BIGINT NOT NULL,
+    event VARCHAR(255) NOT NULL,
+    whodunnit VARCHAR(255),
+    created_at TIMESTAMP(6),
+    career_member_id BIGINT NOT NULL,
+    CONSTRAINT pk_career_member_versions PRIMARY KEY (id)
+);
+
+CREATE TABLE countries (
+    id BIGINT NOT NULL,
+    name VARCHAR(255),
+    created_at TIMESTAMP(6),
+    updated_at TIMESTAMP(6),
+    CONSTRAINT pk_countries PRIMARY KEY (id)
+);
+
+CREATE TABLE vacancies (
+    id BIGINT NOT NULL,
+    creator_id BIGINT NOT NULL,
+    state VARCHAR(255),
+    title VARCHAR(255),
+    programming_language VARCHAR(255),
+    location VARCHAR(255),
+    company_name VARCHAR(255),
+    site VARCHAR(255),
+    contact_name VARCHAR(255),
+    contact_telegram VARCHAR(255),
+    contact_phone VARCHAR(255),
+    conditions_description TEXT,
+    city_name VARCHAR(255),
+    country_id BIGINT,
+    link_for_contact VARCHAR(255),
+    contact_email VARCHAR(255),
+    salary_from INTEGER,
+    salary_to INTEGER,
+    employment_type VARCHAR(255),
+    position_level VARCHAR(255),
+    salary_currency VARCHAR(255),
+    salary_amount_type VARCHAR(255),
+    location_of_position VARCHAR(255),
+    responsibilities_description TEXT,
+    requirements_description TEXT,
+    about_company TEXT,
+    about_project TEXT,
+    experience_description TEXT,
+    locale VARCHAR(255),
+    published_at TIMESTAMP(6),
+    external_id BIGINT,
+    kind VARCHAR(255) NOT NULL,
+    cancelation_reason VARCHAR(255),
+    created_at TIMESTAMP(6),
+    updated_at TIMESTAMP(6),
+    CONSTRAINT pk_vacancies PRIMARY KEY (id)
+);
+
+CREATE TABLE tags (
+    id BIGINT NOT NULL,
+    name VARCHAR(255),
+    taggings_count INTEGER,
+    created_at TIMESTAMP(6),
+    updated_at TIMESTAMP(6),
+    CONSTRAINT pk_tags PRIMARY KEY (id)
+);
+
+CREATE TABLE taggings (
+    id BIGINT NOT NULL,
+    tag_id BIGINT,
+    taggable_type VARCHAR(255),
+    taggable_id BIGINT,
+    tagger_type VARCHAR(255),
+    tagger_id BIGINT,
+    context VARCHAR(255),
+    tenant VARCHAR(255),
+    created_at TIMESTAMP(6),
+    CONSTRAINT pk_taggings PRIMARY KEY (id)
+);
+
+CREATE TABLE impressions (
+    id BIGINT NOT NULL,
+    impressionable_type VARCHAR(255),
+    impressionable_id BIGINT,
+    user_id BIGINT,
+    controller_name VARCHAR(255),
+    action_name VARCHAR(255),
+    view_name VARCHAR(255),
+    request_hash VARCHAR(255),
+    ip_address VARCHAR(255),
+    session_hash VARCHAR(255),
+    message TEXT,
+    referrer TEXT,
+    params TEXT,
+    created_at TIMESTAMP(6),
+    updated_at TIMESTAMP(6),
+    CONSTRAINT pk_impressions PRIMARY KEY (id)
+);
+
+CREATE TABLE versions (
+    id BIGINT NOT NULL,
+    item_type VARCHAR(255) NOT NULL,
+    item_id BIGINT NOT NULL,
+    event VARCHAR(255) NOT NULL,
+    whodunnit VARCHAR(255),
+    object TEXT,
+    object_changes TEXT,
+    created_at TIMESTAMP(6),
+    CONSTRAINT pk_versions PRIMARY KEY (id)
+);
+
+CREATE TABLE events (
+    id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    kind VARCHAR(255) NOT NULL,
+    locale VARCHAR(255) NOT NULL,
+    state VARCHAR(255) NOT NULL,
+    resource_type VARCHAR(255) NOT NULL,
+    resource_id BIGINT NOT NULL,
+    created_at TIMESTAMP(6),
+    updated_at TIMESTAMP(6),
+    CONSTRAINT pk_events PRIMARY KEY (id)
+);
+
+CREATE TABLE event_outbox (
+    id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    kind VARCHAR(255) NOT NULL,
+    locale VARCHAR(255) NOT NULL,
+    state VARCHAR(255) NOT NULL,
+    resource_type VARCHAR(255) NOT NULL,
+    resource_id BIGINT NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_event_outbox PRIMARY KEY (id)
+);
+
+CREATE TABLE notifications (
+    id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    resource_type VARCHAR(255) NOT NULL,
+    resource_id BIGINT NOT NULL,
+    state VARCHAR(255),
+    kind VARCHAR(255),
+    created_at TIMESTAMP(6),
+    updated_at TIMESTAMP(6),
+    CONSTRAINT pk_notifications PRIMARY KEY (id)
+);
+
+CREATE TABLE feed_items (
+    id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    event_id BIGINT NOT NULL,
+    actor_id BIGINT NOT NULL,
+    kind VARCHAR(255) NOT NULL,
+    resource_type VARCHAR(255) NOT NULL,
+    resource_id BIGINT NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_feed_items PRIMARY KEY (id)
+);
+
+CREATE TABLE feed_hot_resources (
+    id BIGINT NOT NULL,
+    resource_type VARCHAR(255) NOT NULL,
+    resource_id BIGINT NOT NULL,
+    CONSTRAINT pk_feed_hot_resources PRIMARY KEY (id)
+);
+
+CREATE TABLE page_sections (
+    id BIGINT NOT NULL,
+    page_key VARCHAR(255),
+    section_key VARCHAR(255),
+    title VARCHAR(255),
+    content VARCHAR(255),
+    active BOOLEAN NOT NULL,
+    created_at VARCHAR(255),
+    updated_at VARCHAR(255),
+    CONSTRAINT pk_page_sections PRIMARY KEY (id),
+    CONSTRAINT uk_page_sections_section_key UNIQUE (section_key)
+);
+
+CREATE UNIQUE INDEX idx_users_email ON users (email);
+CREATE UNIQUE INDEX idx_users_confirmation_token ON users (confirmation_token);
+CREATE UNIQUE INDEX idx_users_reset_password_token ON users (reset_password_token);
+CREATE UNIQUE INDEX idx_users_unlock_token ON users (unlock_token);
+
+CREATE INDEX idx_resumes_user_id ON resumes (user_id);
+CREATE INDEX idx_resume_works_resume_id ON resume_works (resume_id);
+CREATE INDEX idx_resume_educations_resume_id ON resume_educations (resume_id);
+
+CREATE INDEX idx_resume_answers_resume_id ON resume_answers (resume_id);
+CREATE INDEX idx_resume_answers_user_id ON resume_answers (user_id);
+CREATE UNIQUE INDEX idx_resume_answers_user_resume_unique ON resume_answers (user_id, resume_id);
+
+CREATE INDEX idx_ral_answer_id ON resume_answer_likes (answer_id);
+CREATE INDEX idx_ral_resume_id ON resume_answer_likes (resume_id);
+CREATE INDEX idx_ral_user_id ON resume_answer_likes (user_id);
+CREATE UNIQUE INDEX idx_ral_answer_user_unique ON resume_answer_likes (answer_id, user_id);
+
+CREATE INDEX idx_rac_answer_id ON resume_answer_comments (answer_id);
+CREATE INDEX idx_rac_answer_user_id ON resume_answer_comments (answer_user_id);
+CREATE INDEX idx_rac_resume_id ON resume_answer_comments (resume_id);
+CREATE INDEX idx_rac_user_id ON resume_answer_comments (user_id);
+
+CREATE INDEX idx_rc_resume_id ON resume_comments (resume_id);
+CREATE INDEX idx_rc_user_id ON resume_comments (user_id);
+
+CREATE UNIQUE INDEX idx_careers_slug ON careers (slug);
+
+CREATE INDEX idx_ci_career_id ON career_items (career_id);
+CREATE INDEX idx_ci_career_step_id ON career_items (career_step_id);
+CREATE UNIQUE INDEX idx_ci_career_step_unique ON career_items (career_id, career_step_id);
+CREATE UNIQUE INDEX idx_ci_career_order_unique ON career_items (career_id, "order");
+
+CREATE INDEX idx_cm_career_id ON career_members (career_id);
+CREATE INDEX idx_cm_user_id ON career_members (user_id);
+CREATE UNIQUE INDEX idx_cm_user_career_unique ON career_members (user_id, career_id);
+
+CREATE INDEX idx_csm_step_id ON career_step_members (career_step_id);
+CREATE INDEX idx_csm_member_id ON career_step_members (career_member_id);
+CREATE UNIQUE INDEX idx_csm_unique ON career_step_members (career_member_id, career_step_id);
+
+CREATE INDEX idx_cmv_item_type ON career_member_versions (item_type);
+CREATE INDEX idx_cmv_item_id ON career_member_versions (item_id);
+
+CREATE INDEX idx_vacancy_country_id ON vacancies (country_id);
+CREATE INDEX idx_vacancy_creator_id ON vacancies (creator_id);
+CREATE INDEX idx_vacancy_external_id ON vacancies (external_id);
+
+CREATE UNIQUE INDEX idx_tags_name ON tags (name);
+
+CREATE INDEX idx_tg_tag_id ON taggings (tag_id);
+CREATE INDEX idx_tg_taggable_id ON taggings (taggable_id);
+CREATE INDEX idx_tg_taggable_type ON taggings (taggable_type);
+CREATE INDEX idx_tg_tagger_id ON taggings (tagger_id);
+CREATE INDEX idx_tg_context ON taggings (context);
+CREATE INDEX idx_tg_tenant ON taggings (tenant);
+
+CREATE INDEX idx_imp_user_id ON impressions (user_id);
+CREATE INDEX idx_imp_controller ON impressions (controller_name);
+CREATE INDEX idx_imp_action ON impressions (action_name);
+CREATE INDEX idx_imp_ip ON impressions (ip_address);
+CREATE INDEX idx_imp_request_hash ON impressions (request_hash);
+CREATE INDEX idx_imp_session_hash ON impressions (session_hash);
+CREATE INDEX idx_imp_impressionable ON impressions (impressionable_type, impressionable_id);
+-- idx_imp_message только для PostgreSQL: H2 не индексирует CLOB, см. V2 в db/migration/postgresql
+
+CREATE INDEX idx_versions_item_type ON versions (item_type);
+CREATE INDEX idx_versions_item_id ON versions (item_id);
+CREATE INDEX idx_versions_item_type_item_id_id ON versions (item_type, item_id, id);
+
+CREATE INDEX idx_events_user_id ON events (user_id);
+CREATE INDEX idx_events_resource_type ON events (resource_type);
+CREATE INDEX idx_events_resource_id ON events (resource_id);
+CREATE INDEX idx_events_resource_type_resource_id_id ON events (resource_type, resource_id, id);
+
+CREATE INDEX idx_notifications_user_id ON notifications (user_id);
+CREATE INDEX idx_notifications_user_id_state ON notifications (user_id, state);
+CREATE INDEX idx_notifications_resource_type ON notifications (resource_type);
+CREATE INDEX idx_notifications_resource_id ON notifications (resource_id);
+
+CREATE UNIQUE INDEX idx_feed_items_user_id_event_id ON feed_items (user_id, event_id);
+CREATE UNIQUE INDEX idx_feed_hot_resources_resource ON feed_hot_resources (resource_type, resource_id);
+
+ALTER TABLE resumes ADD CONSTRAINT fk_resumes_user_id FOREIGN KEY (user_id) REFERENCES users (id);
+ALTER TABLE resume_works ADD CONSTRAINT fk_resume_works_resume_id FOREIGN KEY (resume_id) REFERENCES resumes (id);
+ALTER TABLE resume_educations ADD CONSTRAINT fk_resume_educations_resume_id
+    FOREIGN KEY (resume_id) REFERENCES resumes (id);
+ALTER TABLE resume_answers ADD CONSTRAINT fk_resume_answers_resume_id FOREIGN KEY (resume_id) REFERENCES resumes (id);
+ALTER TABLE resume_answers ADD CONSTRAINT fk_resume_answers_user_id FOREIGN KEY (user_id) REFERENCES users (id);
+ALTER TABLE resume_answer_likes ADD CONSTRAINT fk_ral_resume_id FOREIGN KEY (resume_id) REFERENCES resumes (id);
+ALTER TABLE resume_answer_likes ADD CONSTRAINT fk_ral_answer_id FOREIGN KEY (answer_id) REFERENCES resume_answers (id);
+ALTER TABLE resume_answer_likes ADD CONSTRAINT fk_ral_user_id FOREIGN KEY (user_id) REFERENCES users (id);
+ALTER TABLE resume_answer_comments ADD CONSTRAINT fk_rac_resume_id FOREIGN KEY (resume_id) REFERENCES resumes (id);
+ALTER TABLE resume_answer_comments ADD CONSTRAINT fk_rac_answer_id
+    FOREIGN KEY (answer_id) REFERENCES resume_answers (id);
+ALTER TABLE resume_answer_comments ADD CONSTRAINT fk_rac_user_id FOREIGN KEY (user_id) REFERENCES users (id);
+ALTER TABLE resume_answer_comments ADD CONSTRAINT fk_rac_answer_user_id
+    FOREIGN KEY (answer_user_id) REFERENCES users (id);
+ALTER TABLE resume_comments ADD CONSTRAINT fk_rc_resume_id FOREIGN KEY (resume_id) REFERENCES resumes (id);
+ALTER TABLE resume_comments ADD CONSTRAINT fk_rc_user_id FOREIGN KEY (user_id) REFERENCES users (id);
+ALTER TABLE career_items ADD CONSTRAINT fk_ci_career_id FOREIGN KEY (career_id) REFERENCES careers (id);
+ALTER TABLE career_items ADD CONSTRAINT fk_ci_career_step_id FOREIGN KEY (career_step_id) REFERENCES career_steps (id);
+ALTER TABLE career_members ADD CONSTRAINT fk_cm_career_id FOREIGN KEY (career_id) REFERENCES careers (id);
+ALTER TABLE career_members ADD CONSTRAINT fk_cm_user_id FOREIGN KEY (user_id) REFERENCES users (id);
+ALTER TABLE career_step_members ADD CONSTRAINT fk_csm_step_id FOREIGN KEY (career_step_id) REFERENCES career_steps (id);
+ALTER TABLE career_step_members ADD CONSTRAINT fk_csm_member_id
+    FOREIGN KEY (career_member_id) REFERENCES career_members (id);
+ALTER TABLE career_member_versions ADD CONSTRAINT fk_cmv_member_id
+    FOREIGN KEY (career_member_id) REFERENCES career_members (id);
+ALTER TABLE vacancies ADD CONSTRAINT fk_vacancy_creator_id FOREIGN KEY (creator_id) REFERENCES users (id);
+ALTER TABLE vacancies ADD CONSTRAINT fk_vacancy_country_id FOREIGN KEY (country_id) REFERENCES countries (id);
+ALTER TABLE taggings ADD CONSTRAINT fk_tg_tag_id FOREIGN KEY (tag_id) REFERENCES tags (id);
+ALTER TABLE impressions ADD CONSTRAINT fk_imp_user_id FOREIGN KEY (user_id) REFERENCES users (id);
+ALTER TABLE events ADD CONSTRAINT fk_events_user_id FOREIGN KEY (user_id) REFERENCES users (id);
+ALTER TABLE notifications ADD CONSTRAINT fk_notifications_user_id FOREIGN KEY (user_id) REFERENCES users (id);
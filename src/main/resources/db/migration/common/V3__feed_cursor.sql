@@ -0,0 +1,17 @@
+-- Курсор раскладки ленты в базе: проход держит блокировку его строки, узлы не раскладывают одно и то же дважды.
+-- Начинается с последнего уже разложенного события, как раньше курсор в памяти.
+CREATE TABLE feed_cursor (
+    id BIGINT NOT NULL,
+    last_event_id BIGINT NOT NULL,
+    CONSTRAINT pk_feed_cursor PRIMARY KEY (id)
+);
+
+INSERT INTO feed_cursor (id, last_event_id) SELECT 1, COALESCE(MAX(event_id), 0) FROM feed_items;
+
+-- События, которые не удалось разложить даже по одному: курсор идёт дальше, строка остаётся для разбора
+CREATE TABLE feed_failed_events (
+    event_id BIGINT NOT NULL,
+    error VARCHAR(1000),
+    failed_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_feed_failed_events PRIMARY KEY (event_id)
+);
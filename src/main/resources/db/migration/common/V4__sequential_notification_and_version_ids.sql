@@ -0,0 +1,4 @@
+-- id уведомлений и версий читаются как порядок: SSE досылает по id > Last-Event-ID, версии применяются
+-- патчами по возрастанию id. Блоки pooled-lo на нескольких узлах этот порядок нарушают, поэтому без блоков.
+ALTER SEQUENCE notifications_seq INCREMENT BY 1;
+ALTER SEQUENCE versions_seq INCREMENT BY 1;
@@ -0,0 +1,3 @@
+-- Перенос из event_outbox идёт по возрастанию id до последнего пришедшего через буфер, как и V4:
+-- блоки pooled-lo разных узлов ставят строку позже вызванного record раньше по id, поэтому без блоков.
+ALTER SEQUENCE event_outbox_seq INCREMENT BY 1;
@@ -0,0 +1,155 @@
+-- Базы, созданные через ddl-auto=update, получают baseline на V1 и начинают миграции отсюда.
+-- Всё идемпотентно, на свежей базе после V1 ничего не меняет.
+
+-- таблицы, колонки и индексы, появившиеся в сущностях уже после того, как базу создавал ddl-auto;
+-- повторяют V1, иначе DROP IDENTITY и setval ниже падают на отсутствующих таблицах
+CREATE TABLE IF NOT EXISTS event_outbox (
+    id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    kind VARCHAR(255) NOT NULL,
+    locale VARCHAR(255) NOT NULL,
+    state VARCHAR(255) NOT NULL,
+    resource_type VARCHAR(255) NOT NULL,
+    resource_id BIGINT NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_event_outbox PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS feed_items (
+    id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    event_id BIGINT NOT NULL,
+    actor_id BIGINT NOT NULL,
+    kind VARCHAR(255) NOT NULL,
+    resource_type VARCHAR(255) NOT NULL,
+    resource_id BIGINT NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_feed_items PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS feed_hot_resources (
+    id BIGINT NOT NULL,
+    resource_type VARCHAR(255) NOT NULL,
+    resource_id BIGINT NOT NULL,
+    CONSTRAINT pk_feed_hot_resources PRIMARY KEY (id)
+);
+
+ALTER TABLE versions ADD COLUMN IF NOT EXISTS object_changes TEXT;
+
+CREATE INDEX IF NOT EXISTS idx_versions_item_type_item_id_id ON versions (item_type, item_id, id);
+CREATE INDEX IF NOT EXISTS idx_events_resource_type_resource_id_id ON events (resource_type, resource_id, id);
+CREATE INDEX IF NOT EXISTS idx_notifications_user_id_state ON notifications (user_id, state);
+CREATE UNIQUE INDEX IF NOT EXISTS idx_feed_items_user_id_event_id ON feed_items (user_id, event_id);
+CREATE UNIQUE INDEX IF NOT EXISTS idx_feed_hot_resources_resource ON feed_hot_resources (resource_type, resource_id);
+
+CREATE INDEX IF NOT EXISTS idx_imp_message ON impressions (message);
+
+-- id раньше были IDENTITY, теперь их выдают последовательности
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE resumes ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE resume_works ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE resume_educations ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE resume_answers ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE resume_answer_likes ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE resume_answer_comments ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE resume_comments ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE careers ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE career_steps ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE career_items ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE career_members ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE career_step_members ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE career_member_versions ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE countries ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE vacancies ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE tags ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE taggings ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE impressions ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE versions ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE notifications ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE event_outbox ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE feed_items ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE feed_hot_resources ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE page_sections ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE events ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+-- последовательности, созданные поверх таблиц с данными, начинались с 1: сдвигаем их за MAX(id).
+-- nextval в GREATEST не даёт откатить последовательность назад, если узлы уже брали из неё блоки
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS resumes_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS resume_works_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS resume_educations_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS resume_answers_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS resume_answer_likes_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS resume_answer_comments_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS resume_comments_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS careers_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS career_steps_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS career_items_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS career_members_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS career_step_members_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS career_member_versions_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS countries_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS vacancies_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS tags_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS taggings_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS impressions_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS versions_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS notifications_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS event_outbox_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS feed_items_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS feed_hot_resources_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS page_sections_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS events_seq START WITH 1 INCREMENT BY 1;
+
+SELECT setval('users_seq', GREATEST(nextval('users_seq'), COALESCE(MAX(id), 0) + 1), false)
+    FROM users;
+SELECT setval('resumes_seq', GREATEST(nextval('resumes_seq'), COALESCE(MAX(id), 0) + 1), false)
+    FROM resumes;
+SELECT setval('resume_works_seq', GREATEST(nextval('resume_works_seq'), COALESCE(MAX(id), 0) + 1), false)
+    FROM resume_works;
+SELECT setval('resume_educations_seq', GREATEST(nextval('resume_educations_seq'), COALESCE(MAX(id), 0) + 1), false)
+    FROM resume_educations;
+SELECT setval('resume_answers_seq', GREATEST(nextval('resume_answers_seq'), COALESCE(MAX(id), 0) + 1), false)
+    FROM resume_answers;
+SELECT setval('resume_answer_likes_seq', GREATEST(nextval('resume_answer_likes_seq'), COALESCE(MAX(id), 0) + 1), false)
+    FROM resume_answer_likes;
+SELECT setval('resume_answer_comments_seq', GREATEST(nextval('resume_answer_comments_seq'), COALESCE(MAX(id), 0) + 1), false)
+    FROM resume_answer_comments;
+SELECT setval('resume_comments_seq', GREATEST(nextval('resume_comments_seq'), COALESCE(MAX(id), 0) + 1), false)
+    FROM resume_comments;
+SELECT setval('careers_seq', GREATEST(nextval('careers_seq'), COALESCE(MAX(id), 0) + 1), false)
+    FROM careers;
+SELECT setval('career_steps_seq', GREATEST(nextval('career_steps_seq'), COALESCE(MAX(id), 0) + 1), false)
+    FROM career_steps;
+SELECT setval('career_items_seq', GREATEST(nextval('career_items_seq'), COALESCE(MAX(id), 0) + 1), false)
+    FROM career_items;
+SELECT setval('career_members_seq', GREATEST(nextval('career_members_seq'), COALESCE(MAX(id), 0) + 1), false)
+    FROM career_members;
+SELECT setval('career_step_members_seq', GREATEST(nextval('career_step_members_seq'), COALESCE(MAX(id), 0) + 1), false)
+    FROM career_step_members;
+SELECT setval('career_member_versions_seq', GREATEST(nextval('career_member_versions_seq'), COALESCE(MAX(id), 0) + 1), false)
+    FROM career_member_versions;
+SELECT setval('countries_seq', GREATEST(nextval('countries_seq'), COALESCE(MAX(id), 0) + 1), false)
+    FROM countries;
+SELECT setval('vacancies_seq', GREATEST(nextval('vacancies_seq'), COALESCE(MAX(id), 0) + 1), false)
+    FROM vacancies;
+SELECT setval('tags_seq', GREATEST(nextval('tags_seq'), COALESCE(MAX(id), 0) + 1), false)
+    FROM tags;
+SELECT setval('taggings_seq', GREATEST(nextval('taggings_seq'), COALESCE(MAX(id), 0) + 1), false)
+    FROM taggings;
+SELECT setval('impressions_seq', GREATEST(nextval('impressions_seq'), COALESCE(MAX(id), 0) + 1), false)
+    FROM impressions;
+SELECT setval('versions_seq', GREATEST(nextval('versions_seq'), COALESCE(MAX(id), 0) + 1), false)
+    FROM versions;
+SELECT setval('notifications_seq', GREATEST(nextval('notifications_seq'), COALESCE(MAX(id), 0) + 1), false)
+    FROM notifications;
+SELECT setval('event_outbox_seq', GREATEST(nextval('event_outbox_seq'), COALESCE(MAX(id), 0) + 1), false)
+    FROM event_outbox;
+SELECT setval('feed_items_seq', GREATEST(nextval('feed_items_seq'), COALESCE(MAX(id), 0) + 1), false)
+    FROM feed_items;
+SELECT setval('feed_hot_resources_seq', GREATEST(nextval('feed_hot_resources_seq'), COALESCE(MAX(id), 0) + 1), false)
+    FROM feed_hot_resources;
+SELECT setval('page_sections_seq', GREATEST(nextval('page_sections_seq'), COALESCE(MAX(id), 0) + 1), false)
+    FROM page_sections;
+SELECT setval('events_seq', GREATEST(nextval('events_seq'), COALESCE(MAX(id), 0) + 1), false)
+    FROM events;
@@ -0,0 +1,6 @@
+-- После V4 nextval идёт с шагом 1 от начала последнего выданного блока, а его id уже могли занять.
+-- Последовательности переставляются за конец блока и за максимальный id таблицы.
+SELECT setval('notifications_seq', GREATEST(nextval('notifications_seq') + 50, COALESCE(MAX(id), 0) + 1), false)
+    FROM notifications;
+SELECT setval('versions_seq', GREATEST(nextval('versions_seq') + 50, COALESCE(MAX(id), 0) + 1), false)
+    FROM versions;
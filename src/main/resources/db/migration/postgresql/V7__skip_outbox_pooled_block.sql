@@ -0,0 +1,3 @@
+-- Как V5: после V6 последовательность переставляется за конец последнего выданного блока и за максимальный id.
+SELECT setval('event_outbox_seq', GREATEST(nextval('event_outbox_seq') + 50, COALESCE(MAX(id), 0) + 1), false)
+    FROM event_outbox;
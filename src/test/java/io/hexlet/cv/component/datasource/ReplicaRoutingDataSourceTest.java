@@ -0,0 +1,90 @@
+package io.hexlet.cv.component.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.hexlet.cv.config.ReplicaProperties;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// две H2 в памяти вместо primary и реплики, каждая знает своё имя
+class ReplicaRoutingDataSourceTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        var properties = new ReplicaProperties();
+        properties.setReadYourWritesWindow(Duration.ofMinutes(1));
+        var recentWriters = new RecentWriters(properties);
+
+        var dataSource = ReplicaRoutingDataSource.wrap(node("primary"), node("replica"), recentWriters);
+        var transactionManager = new DataSourceTransactionManager(dataSource);
+        transactionManager.addListener(recentWriters);
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testReadOnlyTransactionsGoToReplica() {
+        assertThat(readOnly.execute(status -> nodeName())).isEqualTo("replica");
+        assertThat(readWrite.execute(status -> nodeName())).isEqualTo("primary");
+        // без транзакции — primary
+        assertThat(nodeName()).isEqualTo("primary");
+    }
+
+    @Test
+    void testOwnWriteIsReadFromPrimary() {
+        authenticate("writer@example.com");
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("UPDATE node SET hits = hits + 1"));
+
+        assertThat(readOnly.execute(status -> nodeName())).isEqualTo("primary");
+
+        // остальные пользователи по-прежнему читают с реплики
+        authenticate("reader@example.com");
+        assertThat(readOnly.execute(status -> nodeName())).isEqualTo("replica");
+    }
+
+    @Test
+    void testReadOnlyTransactionDoesNotMarkWriter() {
+        authenticate("reader@example.com");
+        readOnly.executeWithoutResult(status -> nodeName());
+
+        assertThat(readOnly.execute(status -> nodeName())).isEqualTo("replica");
+    }
+
+    private String nodeName() {
+        return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private static DataSource node(String name) {
+        var dataSource = new DriverManagerDataSource("jdbc:h2:mem:routing_" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        var jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("DROP TABLE IF EXISTS node");
+        jdbc.execute("CREATE TABLE node (name VARCHAR(32), hits INT)");
+        jdbc.update("INSERT INTO node VALUES (?, 0)", name);
+        return dataSource;
+    }
+
+    private static void authenticate(String email) {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(email, null, "ROLE_USER"));
+    }
+}
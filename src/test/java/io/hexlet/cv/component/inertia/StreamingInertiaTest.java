@@ -0,0 +1,105 @@
+package io.hexlet.cv.component.inertia;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+// транзакции ленивых props идут в отдельную H2 в памяти
+class StreamingInertiaTest {
+
+    private final DriverManagerDataSource dataSource =
+            new DriverManagerDataSource("jdbc:h2:mem:streaming_inertia;DB_CLOSE_DELAY=-1", "sa", "");
+    private final StreamingInertia inertia = new StreamingInertia("v2", new DataSourceTransactionManager(dataSource));
+    private final AtomicInteger resolved = new AtomicInteger();
+
+    private MockHttpServletRequest request;
+
+    @BeforeEach
+    void setUp() {
+        request = new MockHttpServletRequest("GET", "/ru/users/1");
+        request.setQueryString("tab=answers");
+        request.addHeader(StreamingInertia.INERTIA_HEADER, "true");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void testStaleVersionRedirectsWithoutResolvingProps() {
+        request.addHeader(StreamingInertia.VERSION_HEADER, "v1");
+
+        var response = inertia.render("Users/UserPage", props());
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(response.getHeaders().getFirst(StreamingInertia.LOCATION_HEADER))
+                .isEqualTo("/ru/users/1?tab=answers");
+        assertThat(response.getBody()).isNull();
+        assertThat(resolved).hasValue(0);
+    }
+
+    @Test
+    void testCurrentVersionRendersPage() {
+        request.addHeader(StreamingInertia.VERSION_HEADER, "v2");
+
+        var response = inertia.render("Users/UserPage", props());
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().props()).containsEntry("resumes", 1);
+        assertThat(resolved).hasValue(1);
+    }
+
+    @Test
+    void testPartialReloadResolvesRequestedPropsInOneReadOnlyTransaction() {
+        request.addHeader(StreamingInertia.VERSION_HEADER, "v2");
+        request.addHeader(StreamingInertia.PARTIAL_COMPONENT_HEADER, "Users/UserPage");
+        request.addHeader(StreamingInertia.PARTIAL_DATA_HEADER, "resumes,totalAnswers");
+        List<Object> connections = new ArrayList<>();
+        Supplier<Integer> resumes = () -> {
+            connections.add(currentConnection());
+            return 1;
+        };
+        Supplier<Integer> totalAnswers = () -> {
+            connections.add(currentConnection());
+            return 2;
+        };
+
+        var response = inertia.render("Users/UserPage", Map.of(
+                "resumes", resumes,
+                "totalAnswers", totalAnswers,
+                "recentAnswers", props().get("resumes")));
+
+        assertThat(response.getBody().props()).containsOnlyKeys("resumes", "totalAnswers");
+        assertThat(resolved).hasValue(0);
+        assertThat(connections).hasSize(2).doesNotContainNull();
+        assertThat(connections.get(0)).isSameAs(connections.get(1));
+    }
+
+    // соединение транзакции, в которой вычисляется prop; null — транзакции нет или она не read-only
+    private Object currentConnection() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                ? TransactionSynchronizationManager.getResource(dataSource)
+                : null;
+    }
+
+    private Map<String, Object> props() {
+        Supplier<Integer> resumes = resolved::incrementAndGet;
+        return Map.of("resumes", resumes);
+    }
+}
@@ -0,0 +1,101 @@
+package io.hexlet.cv.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.hexlet.cv.model.Career;
+import io.hexlet.cv.model.CareerItem;
+import io.hexlet.cv.model.CareerStep;
+import io.hexlet.cv.model.Country;
+import io.hexlet.cv.repository.CareerItemRepository;
+import io.hexlet.cv.repository.CareerRepository;
+import io.hexlet.cv.repository.CareerStepRepository;
+import io.hexlet.cv.repository.CountryRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class SecondLevelCacheTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private CountryRepository countryRepository;
+    @Autowired
+    private CareerRepository careerRepository;
+    @Autowired
+    private CareerStepRepository careerStepRepository;
+    @Autowired
+    private CareerItemRepository careerItemRepository;
+
+    private Statistics statistics;
+    private Country country;
+    private Career career;
+    private CareerStep step;
+    private CareerItem item;
+
+    @BeforeEach
+    void setUp() {
+        country = new Country();
+        country.setName("Казахстан");
+        countryRepository.save(country);
+
+        career = new Career();
+        career.setName("Кэш-трек");
+        career.setDescription("Трек для проверки кэша");
+        career.setSlug("second-level-cache-test");
+        career.setLocale("ru");
+        careerRepository.save(career);
+
+        step = new CareerStep();
+        step.setName("Шаг");
+        step.setDescription("Описание шага");
+        step.setLocale("ru");
+        careerStepRepository.save(step);
+
+        item = new CareerItem();
+        item.setCareer(career);
+        item.setCareerStep(step);
+        item.setOrderIndex(1);
+        careerItemRepository.save(item);
+
+        entityManagerFactory.getCache().evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        careerItemRepository.delete(item);
+        careerStepRepository.delete(step);
+        careerRepository.delete(career);
+        countryRepository.delete(country);
+    }
+
+    @Test
+    void testRepeatedEntityLoadSkipsDatabase() {
+        // каждый findById вне транзакции теста идёт в своей сессии, первый уровень не помогает
+        countryRepository.findById(country.getId()).orElseThrow();
+        countryRepository.findById(country.getId()).orElseThrow();
+        careerRepository.findById(career.getId()).orElseThrow();
+        careerRepository.findById(career.getId()).orElseThrow();
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(2);
+    }
+
+    @Test
+    void testRepeatedCountIsServedFromQueryCache() {
+        int first = careerItemRepository.countByCareerId(career.getId());
+        int second = careerItemRepository.countByCareerId(career.getId());
+
+        assertThat(second).isEqualTo(first).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+    }
+}
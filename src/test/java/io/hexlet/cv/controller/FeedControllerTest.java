@@ -0,0 +1,170 @@
+package io.hexlet.cv.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import io.hexlet.cv.component.SequenceIdAllocator;
+import io.hexlet.cv.model.FeedItem;
+import io.hexlet.cv.model.User;
+import io.hexlet.cv.model.enums.RoleType;
+import io.hexlet.cv.repository.FeedItemRepository;
+import io.hexlet.cv.repository.UserRepository;
+import io.hexlet.cv.service.feed.FeedService;
+import io.hexlet.cv.util.JWTUtils;
+import jakarta.servlet.http.Cookie;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+// fanout-limit 1: резюме с владельцем и одним комментатором уже горячее; раскладку вызывает сам тест
+@SpringBootTest(properties = {"app.feed.fanout-limit=1", "app.feed.gap-timeout=0s", "app.feed.poll-interval=1h"})
+@AutoConfigureMockMvc
+class FeedControllerTest {
+
+    private static final String EMAIL = "feed_user@example.com";
+    private static final String ACTOR_EMAIL = "feed_actor@example.com";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private FeedItemRepository feedItemRepository;
+    @Autowired
+    private JWTUtils jwtUtils;
+    @Autowired
+    private FeedService feedService;
+    @Autowired
+    private SequenceIdAllocator sequenceIdAllocator;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+    private User actor;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+
+        user = new User();
+        user.setEmail(EMAIL);
+        user.setEncryptedPassword("123456");
+        user.setRole(RoleType.CANDIDATE);
+        userRepository.save(user);
+
+        actor = new User();
+        actor.setEmail(ACTOR_EMAIL);
+        actor.setEncryptedPassword("123456");
+        actor.setRole(RoleType.CANDIDATE);
+        userRepository.save(actor);
+
+        createFeedItem(101L);
+        createFeedItem(102L);
+        createFeedItem(103L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        feedItemRepository.deleteAll();
+        jdbcTemplate.update("DELETE FROM events WHERE user_id = ?", actor.getId());
+        jdbcTemplate.update("DELETE FROM resume_comments WHERE user_id = ?", actor.getId());
+        jdbcTemplate.update("DELETE FROM feed_hot_resources WHERE resource_type = 'Resume' "
+                + "AND resource_id IN (SELECT id FROM resumes WHERE user_id = ?)", user.getId());
+        jdbcTemplate.update("DELETE FROM resumes WHERE user_id = ?", user.getId());
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void testKeysetPagination() throws Exception {
+        var token = jwtUtils.generateAccessToken(EMAIL);
+
+        mockMvc.perform(get("/ru/feed")
+                        .cookie(new Cookie("access_token", token))
+                        .header("X-Inertia", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.props.feed", hasSize(3)))
+                .andExpect(jsonPath("$.props.feed[0].eventId").value(103));
+
+        mockMvc.perform(get("/ru/feed")
+                        .param("before", "103")
+                        .cookie(new Cookie("access_token", token))
+                        .header("X-Inertia", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.props.feed", hasSize(2)))
+                .andExpect(jsonPath("$.props.feed[0].eventId").value(102));
+    }
+
+    @Test
+    void testFanOutWritesEachEventOnce() {
+        var resumeId = createResume();
+        var eventId = createEvent(resumeId);
+
+        feedService.fanOut();
+        // курсор в базе: повторный проход событие не раскладывает
+        feedService.fanOut();
+
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM feed_items WHERE user_id = ? AND event_id = ?",
+                Integer.class, user.getId(), eventId)).isEqualTo(1);
+    }
+
+    @Test
+    void testHotResourceEventIsNotDuplicated() throws Exception {
+        var resumeId = createResume();
+        var materialized = createEvent(resumeId);
+        feedService.fanOut();
+
+        // комментатор выводит аудиторию за fanout-limit, дальше события резюме читаются из events
+        var commentId = sequenceIdAllocator.next("resume_comments_seq");
+        jdbcTemplate.update("INSERT INTO resume_comments (id, resume_id, user_id, content) VALUES (?, ?, ?, ?)",
+                commentId, resumeId, actor.getId(), "Интересно");
+        var merged = createEvent(resumeId);
+        feedService.fanOut();
+
+        var token = jwtUtils.generateAccessToken(EMAIL);
+        mockMvc.perform(get("/ru/feed")
+                        .cookie(new Cookie("access_token", token))
+                        .header("X-Inertia", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.props.feed[?(@.eventId == " + materialized + ")]", hasSize(1)))
+                .andExpect(jsonPath("$.props.feed[?(@.eventId == " + merged + ")]", hasSize(1)));
+    }
+
+    private long createResume() {
+        var resumeId = sequenceIdAllocator.next("resumes_seq");
+        jdbcTemplate.update("INSERT INTO resumes (id, name, user_id, answers_count) VALUES (?, ?, ?, 0)",
+                resumeId, "Лента", user.getId());
+        return resumeId;
+    }
+
+    private long createEvent(long resumeId) {
+        var eventId = sequenceIdAllocator.next("events_seq");
+        var now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update("INSERT INTO events (id, user_id, kind, locale, state, resource_type, resource_id, "
+                + "created_at, updated_at) VALUES (?, ?, 'new_comment', 'ru', 'done', 'Resume', ?, ?, ?)",
+                eventId, actor.getId(), resumeId, now, now);
+        return eventId;
+    }
+
+    private void createFeedItem(Long eventId) {
+        var item = new FeedItem();
+        item.setUserId(user.getId());
+        item.setEventId(eventId);
+        item.setActorId(user.getId() + 1);
+        item.setKind("new_answer");
+        item.setResourceType("Resume");
+        item.setResourceId(1L);
+        item.setCreatedAt(LocalDateTime.now());
+        feedItemRepository.save(item);
+    }
+}
@@ -0,0 +1,105 @@
+package io.hexlet.cv.controller;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import io.hexlet.cv.model.Resume;
+import io.hexlet.cv.model.User;
+import io.hexlet.cv.model.Vacancy;
+import io.hexlet.cv.model.enums.RoleType;
+import io.hexlet.cv.repository.ResumeRepository;
+import io.hexlet.cv.repository.UserRepository;
+import io.hexlet.cv.repository.VacancyRepository;
+import io.hexlet.cv.service.matching.MatchingService;
+import io.hexlet.cv.util.JWTUtils;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class MatchingControllerTest {
+
+    private static final String EMAIL = "matching_test@example.com";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ResumeRepository resumeRepository;
+    @Autowired
+    private VacancyRepository vacancyRepository;
+    @Autowired
+    private MatchingService matchingService;
+    @Autowired
+    private JWTUtils jwtUtils;
+
+    private User user;
+    private Resume resume;
+    private Vacancy vacancy;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setEmail(EMAIL);
+        user.setEncryptedPassword("123456");
+        user.setRole(RoleType.CANDIDATE);
+        userRepository.save(user);
+
+        resume = new Resume();
+        resume.setUser(user);
+        resume.setName("Java-разработчик");
+        resume.setSkillsDescription("Java, Spring Boot, PostgreSQL");
+        resume.setCity("Казань");
+        resume.setRelocation("нет");
+        resume.setAnswersCount(0);
+        resumeRepository.save(resume);
+
+        vacancy = new Vacancy();
+        vacancy.setCreator(user);
+        vacancy.setState("published");
+        vacancy.setKind("fulltime");
+        vacancy.setTitle("Java-разработчик");
+        vacancy.setProgrammingLanguage("Java");
+        vacancy.setCityName("Казань");
+        vacancyRepository.save(vacancy);
+
+        // индекс строится по расписанию, тест не ждёт следующей перестройки
+        matchingService.rebuild();
+    }
+
+    @AfterEach
+    void tearDown() {
+        // резюме и вакансии пользователя удаляются каскадом
+        userRepository.deleteById(user.getId());
+    }
+
+    @Test
+    void testVacanciesForResume() throws Exception {
+        mockMvc.perform(get("/api/resumes/" + resume.getId() + "/vacancies")
+                        .param("limit", String.valueOf(MatchingService.MAX_LIMIT))
+                        .cookie(new Cookie("access_token", jwtUtils.generateAccessToken(EMAIL))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", hasItem(vacancy.getId().intValue())));
+
+        mockMvc.perform(get("/api/vacancies/" + vacancy.getId() + "/resumes")
+                        .param("limit", String.valueOf(MatchingService.MAX_LIMIT))
+                        .cookie(new Cookie("access_token", jwtUtils.generateAccessToken(EMAIL))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", hasItem(resume.getId().intValue())));
+    }
+
+    @Test
+    void testAnonymousRejected() throws Exception {
+        mockMvc.perform(get("/api/resumes/" + resume.getId() + "/vacancies"))
+                .andExpect(status().is4xxClientError());
+    }
+}
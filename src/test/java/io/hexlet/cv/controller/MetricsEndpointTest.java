@@ -0,0 +1,73 @@
+package io.hexlet.cv.controller;
+
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import io.hexlet.cv.model.User;
+import io.hexlet.cv.model.enums.RoleType;
+import io.hexlet.cv.repository.UserRepository;
+import io.hexlet.cv.util.JWTUtils;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class MetricsEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JWTUtils jwtUtils;
+
+    private static final String ADMIN_EMAIL = "metrics_admin@example.com";
+
+    private User admin;
+
+    @BeforeEach
+    void setUp() {
+        admin = new User();
+        admin.setEmail(ADMIN_EMAIL);
+        admin.setEncryptedPassword("123456");
+        admin.setRole(RoleType.ADMIN);
+        userRepository.save(admin);
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteById(admin.getId());
+    }
+
+    @Test
+    void testRenderRouteAndRepositoryTimersAreScraped() throws Exception {
+        mockMvc.perform(get("/ru").header("X-Inertia", "true"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus")
+                        .cookie(new Cookie("access_token", jwtUtils.generateAccessToken(ADMIN_EMAIL))))
+                .andExpect(status().isOk())
+                .andExpect(content().string(allOf(
+                        containsString("http_server_requests_seconds_bucket{"),
+                        containsString("uri=\"/{locale}\""),
+                        containsString("spring_data_repository_invocations_seconds_count{"),
+                        containsString("repository=\"PageSectionRepository\""))));
+    }
+
+    @Test
+    void testAnonymousScrapeRejected() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().is4xxClientError());
+    }
+}
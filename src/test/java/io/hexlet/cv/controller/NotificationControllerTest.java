@@ -0,0 +1,155 @@
+package io.hexlet.cv.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import io.hexlet.cv.mapper.NotificationMapper;
+import io.hexlet.cv.model.Notification;
+import io.hexlet.cv.model.User;
+import io.hexlet.cv.model.enums.RoleType;
+import io.hexlet.cv.repository.NotificationRepository;
+import io.hexlet.cv.repository.UserRepository;
+import io.hexlet.cv.service.NotificationHub;
+import io.hexlet.cv.util.JWTUtils;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+// досылка по одному уведомлению на страницу, чтобы пропущенных было больше страницы
+@SpringBootTest(properties = "app.notifications.replay-limit=1")
+@AutoConfigureMockMvc
+class NotificationControllerTest {
+
+    private static final String EMAIL = "notified_user@example.com";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private NotificationRepository notificationRepository;
+    @Autowired
+    private JWTUtils jwtUtils;
+    @Autowired
+    private NotificationHub notificationHub;
+    @Autowired
+    private NotificationMapper notificationMapper;
+
+    private User user;
+    private Notification first;
+    private Notification second;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+
+        user = new User();
+        user.setEmail(EMAIL);
+        user.setEncryptedPassword("123456");
+        user.setRole(RoleType.CANDIDATE);
+        userRepository.save(user);
+
+        first = createNotification("new_answer");
+        second = createNotification("new_comment");
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void testUnreadCountAndReadAll() throws Exception {
+        var token = jwtUtils.generateAccessToken(EMAIL);
+
+        mockMvc.perform(get("/ru/notifications")
+                        .cookie(new Cookie("access_token", token))
+                        .header("X-Inertia", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.props.notifications", hasSize(2)))
+                .andExpect(jsonPath("$.props.unreadCount").value(2))
+                .andExpect(jsonPath("$.props.unreadNotificationsCount").value(2));
+
+        mockMvc.perform(post("/ru/notifications/read_all")
+                        .cookie(new Cookie("access_token", token))
+                        .header("X-Inertia", "true"))
+                .andExpect(status().is3xxRedirection());
+
+        mockMvc.perform(get("/ru/notifications")
+                        .cookie(new Cookie("access_token", token))
+                        .header("X-Inertia", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.props.unreadCount").value(0));
+    }
+
+    @Test
+    void testStreamReplaysMissedNotifications() throws Exception {
+        var token = jwtUtils.generateAccessToken(EMAIL);
+
+        mockMvc.perform(get("/ru/notifications/stream")
+                        .cookie(new Cookie("access_token", token))
+                        .header("Last-Event-ID", first.getId()))
+                .andExpect(request().asyncStarted())
+                .andExpect(content().string(containsString("id:" + second.getId())))
+                .andExpect(content().string(not(containsString("id:" + first.getId() + "\n"))));
+    }
+
+    @Test
+    void testStreamReplaysPastReplayLimit() throws Exception {
+        var token = jwtUtils.generateAccessToken(EMAIL);
+        var third = createNotification("new_answer_comment");
+
+        mockMvc.perform(get("/ru/notifications/stream")
+                        .cookie(new Cookie("access_token", token))
+                        .header("Last-Event-ID", first.getId()))
+                .andExpect(request().asyncStarted())
+                .andExpect(content().string(containsString("id:" + second.getId() + "\n")))
+                .andExpect(content().string(containsString("id:" + third.getId() + "\n")));
+    }
+
+    @Test
+    void testLiveNotificationNotRepeatedAfterReplay() throws Exception {
+        var token = jwtUtils.generateAccessToken(EMAIL);
+
+        var result = mockMvc.perform(get("/ru/notifications/stream")
+                        .cookie(new Cookie("access_token", token))
+                        .header("Last-Event-ID", first.getId()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        // то же уведомление приходит из потока записи уже после досылки из базы
+        notificationHub.publish(user.getId(), notificationMapper.map(second));
+
+        var body = result.getResponse().getContentAsString();
+        assertThat(body.split("id:" + second.getId() + "\n", -1)).hasSize(2);
+    }
+
+    @Test
+    void testAnonymousAccess() throws Exception {
+        mockMvc.perform(get("/ru/notifications")
+                        .header("X-Inertia", "true"))
+                .andExpect(status().is4xxClientError());
+    }
+
+    private Notification createNotification(String kind) {
+        var notification = new Notification();
+        notification.setUser(user);
+        notification.setResourceType("Resume");
+        notification.setResourceId(1L);
+        notification.setState("new");
+        notification.setKind(kind);
+        return notificationRepository.save(notification);
+    }
+}
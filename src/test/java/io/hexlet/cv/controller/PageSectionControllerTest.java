@@ -5,7 +5,11 @@ import io.hexlet.cv.dto.pagesection.PageSectionCreateDTO;
 import io.hexlet.cv.dto.pagesection.PageSectionUpdateDTO;
 import io.hexlet.cv.mapper.PageSectionMapper;
 import io.hexlet.cv.model.PageSection;
+import io.hexlet.cv.model.Version;
 import io.hexlet.cv.repository.PageSectionRepository;
+import io.hexlet.cv.repository.VersionRepository;
+import io.hexlet.cv.service.PageSectionService;
+import io.hexlet.cv.service.versioning.VersioningService;
 import io.hexlet.cv.utils.ModelGenerator;
 import org.instancio.Instancio;
 import org.junit.jupiter.api.BeforeEach;
@@ -45,6 +49,12 @@ public class PageSectionControllerTest {
     @Autowired
     private ModelGenerator modelGenerator;
 
+    @Autowired
+    private VersionRepository versionRepository;
+
+    @Autowired
+    private VersioningService versioningService;
+
     private PageSection section1;
     private PageSection section2;
 
@@ -175,6 +185,12 @@ public class PageSectionControllerTest {
 
         assertThat(section.getTitle()).isEqualTo(oldTitle);
         assertThat(section.getContent()).isEqualTo(oldContent);
+
+        var versions = versionRepository.findByItemTypeAndItemIdAndIdGreaterThanOrderByIdAsc(
+            PageSectionService.VERSION_ITEM_TYPE, section1.getId(), 0L);
+        assertThat(versions).extracting(Version::getEvent).containsExactly("update");
+        assertThat(versioningService.reconstruct(PageSectionService.VERSION_ITEM_TYPE, section1.getId(),
+            versions.get(0).getId()).get("sectionKey").asText()).isEqualTo("tech_stack");
     }
 
     @Test
@@ -186,5 +202,11 @@ public class PageSectionControllerTest {
 
         assertThat(pageSectionRepository.existsById(section1.getId())).isFalse();
         assertThat(pageSectionRepository.existsById(section2.getId())).isTrue();
+
+        var versions = versionRepository.findByItemTypeAndItemIdAndIdGreaterThanOrderByIdAsc(
+            PageSectionService.VERSION_ITEM_TYPE, section1.getId(), 0L);
+        assertThat(versions).extracting(Version::getEvent).containsExactly("destroy");
+        assertThat(versioningService.reconstruct(PageSectionService.VERSION_ITEM_TYPE, section1.getId(),
+            versions.get(0).getId()).get("sectionKey").asText()).isEqualTo(section1.getSectionKey());
     }
 }
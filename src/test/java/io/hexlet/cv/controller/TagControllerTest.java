@@ -0,0 +1,102 @@
+package io.hexlet.cv.controller;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import io.hexlet.cv.model.Tag;
+import io.hexlet.cv.repository.TagRepository;
+import io.hexlet.cv.repository.TaggingRepository;
+import io.hexlet.cv.service.TaggingService;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class TagControllerTest {
+
+    private static final String TAGGABLE_TYPE = "TagControllerTest";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private TaggingService taggingService;
+    @Autowired
+    private TagRepository tagRepository;
+    @Autowired
+    private TaggingRepository taggingRepository;
+
+    private final List<Tag> tags = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (var name : List.of("java", "spring", "sql")) {
+            var tag = new Tag();
+            tag.setName(TAGGABLE_TYPE + "-" + name);
+            tag.setTaggingsCount(0);
+            tags.add(tagRepository.save(tag));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (long taggableId = 1; taggableId <= 2; taggableId++) {
+            for (var tagging : taggingRepository.findByTaggableTypeAndTaggableId(TAGGABLE_TYPE, taggableId)) {
+                taggingService.untag(tagging);
+            }
+        }
+        tagRepository.deleteAll(tags);
+    }
+
+    @Test
+    void testRelatedTagsCountEachTaggableOnce() throws Exception {
+        var java = tags.get(0);
+        var spring = tags.get(1);
+        var sql = tags.get(2);
+
+        taggingService.tag(java, TAGGABLE_TYPE, 1L, 1L);
+        taggingService.tag(spring, TAGGABLE_TYPE, 1L, 1L);
+        // повторный тег того же taggable новых пар не даёт, как и distinct в полной перестройке
+        taggingService.tag(spring, TAGGABLE_TYPE, 1L, 1L);
+        taggingService.tag(java, TAGGABLE_TYPE, 2L, 1L);
+        taggingService.tag(spring, TAGGABLE_TYPE, 2L, 1L);
+        taggingService.tag(sql, TAGGABLE_TYPE, 2L, 1L);
+
+        mockMvc.perform(get("/api/tags/" + java.getId() + "/related"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].tagId").value(spring.getId()))
+                .andExpect(jsonPath("$[0].count").value(2))
+                .andExpect(jsonPath("$[1].tagId").value(sql.getId()))
+                .andExpect(jsonPath("$[1].count").value(1));
+
+        mockMvc.perform(get("/api/tags/" + java.getId() + "/related").param("limit", "1"))
+                .andExpect(jsonPath("$", hasSize(1)));
+
+        mockMvc.perform(get("/api/tags/" + java.getId() + "/related").param("limit", "-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    void testUntagRemovesPairs() throws Exception {
+        var java = tags.get(0);
+        var spring = tags.get(1);
+
+        taggingService.tag(java, TAGGABLE_TYPE, 1L, 1L);
+        var springTagging = taggingService.tag(spring, TAGGABLE_TYPE, 1L, 1L);
+        taggingService.untag(springTagging);
+
+        mockMvc.perform(get("/api/tags/" + java.getId() + "/related"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+}
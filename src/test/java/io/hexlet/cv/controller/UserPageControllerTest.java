@@ -1,17 +1,29 @@
 package io.hexlet.cv.controller;
 
+import static io.hexlet.cv.utils.QueryCountAssertions.assertStatementsAtMost;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.not;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import io.hexlet.cv.model.Career;
+import io.hexlet.cv.model.CareerItem;
+import io.hexlet.cv.model.CareerMember;
+import io.hexlet.cv.model.CareerStep;
 import io.hexlet.cv.model.User;
 import io.hexlet.cv.model.enums.RoleType;
+import io.hexlet.cv.repository.CareerItemRepository;
+import io.hexlet.cv.repository.CareerMemberRepository;
+import io.hexlet.cv.repository.CareerRepository;
+import io.hexlet.cv.repository.CareerStepRepository;
 import io.hexlet.cv.repository.UserRepository;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -36,6 +48,21 @@ class UserPageControllerTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private CareerRepository careerRepository;
+
+    @Autowired
+    private CareerStepRepository careerStepRepository;
+
+    @Autowired
+    private CareerItemRepository careerItemRepository;
+
+    @Autowired
+    private CareerMemberRepository careerMemberRepository;
+
+    private final List<Career> careers = new ArrayList<>();
+    private CareerStep careerStep;
+
     @BeforeEach
     void setUp() {
         userRepository.deleteAll();
@@ -48,6 +75,13 @@ class UserPageControllerTest {
     @AfterEach
     void tearDown() {
         userRepository.deleteAll();
+        // участники и состав трека удаляются каскадом
+        careers.forEach(careerRepository::delete);
+        careers.clear();
+        if (careerStep != null) {
+            careerStepRepository.delete(careerStep);
+            careerStep = null;
+        }
     }
 
     @Test
@@ -81,6 +115,61 @@ class UserPageControllerTest {
                 .andExpect(jsonPath("$.props.totalLikes").value(0));
     }
 
+    @Test
+    void testUserPageHtmlShell() throws Exception {
+        var user = new User();
+        user.setEmail("test@google.com");
+        user.setLastName("O'Brien <b>");
+        user.setEncryptedPassword("123456");
+        user.setRole(RoleType.CANDIDATE);
+        var saved = userRepository.save(user);
+
+        // без X-Inertia объект страницы пишется в data-page оболочки app.html
+        mockMvc.perform(get("/ru/users/" + saved.getId()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_HTML))
+                .andExpect(content().string(containsString("<div id=\"app\" data-page='{\"component\":")))
+                .andExpect(content().string(containsString("O\\u0027Brien \\u003Cb\\u003E")))
+                .andExpect(content().string(not(containsString("O'Brien"))));
+    }
+
+    @Test
+    void testUserPageStatementCount() throws Throwable {
+        var user = new User();
+        user.setEmail("test@google.com");
+        user.setEncryptedPassword("123456");
+        user.setRole(RoleType.CANDIDATE);
+        var saved = userRepository.save(user);
+        joinCareer(saved, "statement-count-first");
+        joinCareer(saved, "statement-count-second");
+
+        // пользователь, 3 счётчика, по одному запросу на каждый список страницы, шаги и состав треков;
+        // COUNT на каждый трек дал бы 12
+        assertStatementsAtMost(11, () -> mockMvc.perform(get("/ru/users/" + saved.getId())
+                        .header("X-Inertia", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.props.careerTracks", hasSize(2))));
+    }
+
+    @Test
+    void testUserPagePartialReload() throws Throwable {
+        var user = new User();
+        user.setEmail("test@google.com");
+        user.setEncryptedPassword("123456");
+        user.setRole(RoleType.CANDIDATE);
+        var saved = userRepository.save(user);
+
+        // вкладка профиля запрашивает один раздел: пользователь и один список, остальные разделы не считаются
+        assertStatementsAtMost(2, () -> mockMvc.perform(get("/ru/users/" + saved.getId())
+                        .header("X-Inertia", "true")
+                        .header("X-Inertia-Partial-Component", "Users/UserPage")
+                        .header("X-Inertia-Partial-Data", "resumeComments"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.props.resumeComments", hasSize(0)))
+                .andExpect(jsonPath("$.props.resumes").doesNotExist())
+                .andExpect(jsonPath("$.props.totalAnswers").doesNotExist()));
+    }
+
     @Test
     void testUserPageNotFound() throws Exception {
         Long nonExistentId = 999L;
@@ -95,4 +184,34 @@ class UserPageControllerTest {
                 .andExpect(jsonPath("$.props.description",
                         containsString("Пользователь с ID " + nonExistentId)));
     }
+
+    private void joinCareer(User user, String slug) {
+        if (careerStep == null) {
+            careerStep = new CareerStep();
+            careerStep.setName("Шаг");
+            careerStep.setDescription("Описание шага");
+            careerStep.setLocale("ru");
+            careerStepRepository.save(careerStep);
+        }
+
+        var career = new Career();
+        career.setName(slug);
+        career.setDescription("Трек страницы пользователя");
+        career.setSlug(slug);
+        career.setLocale("ru");
+        careerRepository.save(career);
+        careers.add(career);
+
+        var item = new CareerItem();
+        item.setCareer(career);
+        item.setCareerStep(careerStep);
+        item.setOrderIndex(1);
+        careerItemRepository.save(item);
+
+        var member = new CareerMember();
+        member.setCareer(career);
+        member.setUser(user);
+        member.setState("in_progress");
+        careerMemberRepository.save(member);
+    }
 }
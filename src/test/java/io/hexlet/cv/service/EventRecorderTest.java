@@ -0,0 +1,96 @@
+package io.hexlet.cv.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.hexlet.cv.model.User;
+import io.hexlet.cv.model.enums.RoleType;
+import io.hexlet.cv.repository.UserRepository;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+// буфер на одну строку, чтобы вторая ушла мимо него; фоновые flush, relay и раскладка лент не мешают тесту
+@SpringBootTest(properties = {
+    "app.events.queue-capacity=1",
+    "app.events.flush-interval=1h",
+    "app.events.relay-interval=1h",
+    "app.feed.poll-interval=1h"
+})
+class EventRecorderTest {
+
+    @Autowired
+    private EventRecorder eventRecorder;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        // буфер и outbox, оставшиеся от засева и других тестов контекста, разбираются заранее
+        eventRecorder.flush();
+        eventRecorder.relay(Duration.ZERO);
+
+        user = new User();
+        user.setEmail("event_recorder_test@example.com");
+        user.setEncryptedPassword("123456");
+        user.setRole(RoleType.CANDIDATE);
+        userRepository.save(user);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM event_outbox WHERE user_id = ?", user.getId());
+        jdbcTemplate.update("DELETE FROM events WHERE user_id = ?", user.getId());
+        userRepository.deleteById(user.getId());
+    }
+
+    @Test
+    void testOverflowedRowKeepsRecordOrder() {
+        record("first");
+        // буфер занят, строка остаётся только в outbox
+        record("overflowed");
+        eventRecorder.flush();
+        record("third");
+
+        eventRecorder.flush();
+
+        assertThat(kinds()).containsExactly("first", "overflowed", "third");
+        assertThat(outboxSize()).isZero();
+    }
+
+    @Test
+    void testRelayKeepsRecordOrderAndIsNotRepeatedByFlush() {
+        record("first");
+        record("second");
+        record("third");
+
+        eventRecorder.relay(Duration.ZERO);
+        // id первой строки ещё в буфере, но в outbox её уже нет
+        eventRecorder.flush();
+
+        assertThat(kinds()).containsExactly("first", "second", "third");
+        assertThat(outboxSize()).isZero();
+    }
+
+    private void record(String kind) {
+        eventRecorder.record(user.getId(), kind, "ru", EventRecorder.STATE_DONE, "Resume", 1L);
+    }
+
+    private List<String> kinds() {
+        return jdbcTemplate.queryForList("SELECT kind FROM events WHERE user_id = ? ORDER BY id",
+                String.class, user.getId());
+    }
+
+    private Integer outboxSize() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM event_outbox WHERE user_id = ?",
+                Integer.class, user.getId());
+    }
+}
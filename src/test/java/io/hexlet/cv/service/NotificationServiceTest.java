@@ -0,0 +1,149 @@
+package io.hexlet.cv.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.hexlet.cv.component.SequenceIdAllocator;
+import io.hexlet.cv.model.Notification;
+import io.hexlet.cv.model.Resume;
+import io.hexlet.cv.model.User;
+import io.hexlet.cv.model.enums.RoleType;
+import io.hexlet.cv.repository.NotificationRepository;
+import io.hexlet.cv.repository.ResumeRepository;
+import io.hexlet.cv.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+// окно длиннее теста, чтобы поток записи не забрал очередь раньше flush; пачка меньше числа намерений
+@SpringBootTest(properties = {"app.notifications.coalesce-window=1h", "app.notifications.batch-size=2"})
+class NotificationServiceTest {
+
+    @Autowired
+    private NotificationService notificationService;
+    @Autowired
+    private UnreadNotificationCounter unreadCounter;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private NotificationRepository notificationRepository;
+    @Autowired
+    private ResumeRepository resumeRepository;
+    @Autowired
+    private SequenceIdAllocator sequenceIdAllocator;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+    private User follower;
+    private User author;
+
+    @BeforeEach
+    void setUp() {
+        user = createUser("notification_service_test@example.com");
+        follower = createUser("notification_follower_test@example.com");
+        author = createUser("notification_author_test@example.com");
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (var created : new User[]{user, follower, author}) {
+            jdbcTemplate.update("DELETE FROM notifications WHERE user_id = ?", created.getId());
+            jdbcTemplate.update("DELETE FROM resume_comments WHERE user_id = ?", created.getId());
+            userRepository.deleteById(created.getId());
+        }
+    }
+
+    @Test
+    void testDuplicatesCoalescedAcrossBatches() {
+        // повторы разнесены дальше размера пачки
+        notificationService.notify(user.getId(), "Resume", 1L, "new_answer");
+        notificationService.notify(user.getId(), "Resume", 2L, "new_answer");
+        notificationService.notify(user.getId(), "Resume", 3L, "new_answer");
+        notificationService.notify(user.getId(), "Resume", 1L, "new_answer");
+        notificationService.notify(user.getId(), "Resume", 2L, "new_answer");
+
+        notificationService.flush();
+
+        assertThat(notificationService.pending()).isZero();
+        assertThat(count()).isEqualTo(3);
+    }
+
+    @Test
+    void testFailedBatchDropsOnlyBadRow() {
+        notificationService.notify(user.getId(), "Resume", 1L, "new_answer");
+        // не влезает в resource_type VARCHAR(255), batch с ней падает
+        notificationService.notify(user.getId(), "R".repeat(300), 2L, "new_answer");
+        notificationService.notify(user.getId(), "Resume", 3L, "new_answer");
+
+        notificationService.flush();
+
+        assertThat(count()).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT resource_id FROM notifications WHERE user_id = ? ORDER BY resource_id",
+                Long.class, user.getId())).containsExactly(1L, 3L);
+    }
+
+    @Test
+    void testUnreadCountFollowsBatchAndSingleChanges() {
+        assertThat(unreadCounter.get(user.getId())).isZero();
+
+        notificationService.notify(user.getId(), "Resume", 1L, "new_answer");
+        notificationService.flush();
+        assertThat(unreadCounter.get(user.getId())).isEqualTo(1);
+
+        // одиночное изменение через JPA сбрасывает закэшированный счётчик
+        var notification = new Notification();
+        notification.setUser(user);
+        notification.setResourceType("Resume");
+        notification.setResourceId(2L);
+        notification.setState(NotificationService.STATE_NEW);
+        notification.setKind("new_comment");
+        notificationRepository.save(notification);
+        assertThat(unreadCounter.get(user.getId())).isEqualTo(2);
+
+        notification.setState(UnreadNotificationCounter.STATE_READ);
+        notificationRepository.save(notification);
+        assertThat(unreadCounter.get(user.getId())).isEqualTo(1);
+    }
+
+    @Test
+    void testResumeFollowersNotifiedExceptAuthor() {
+        var resume = new Resume();
+        resume.setUser(user);
+        resume.setName("Резюме с обсуждением");
+        resume.setAnswersCount(0);
+        resumeRepository.save(resume);
+        // прошлый комментарий пишется мимо JPA, чтобы слушатель не поставил своё уведомление
+        jdbcTemplate.update("INSERT INTO resume_comments (id, resume_id, user_id, content) VALUES (?, ?, ?, ?)",
+                sequenceIdAllocator.next("resume_comments_seq"), resume.getId(), follower.getId(), "Отличное резюме");
+        jdbcTemplate.update("INSERT INTO resume_comments (id, resume_id, user_id, content) VALUES (?, ?, ?, ?)",
+                sequenceIdAllocator.next("resume_comments_seq"), resume.getId(), author.getId(), "Первый");
+
+        notificationService.notifyResumeFollowers(resume.getId(), author.getId(), "new_comment");
+        notificationService.flush();
+
+        assertThat(count(user)).isEqualTo(1);
+        assertThat(count(follower)).isEqualTo(1);
+        assertThat(count(author)).isZero();
+    }
+
+    private Integer count() {
+        return count(user);
+    }
+
+    private Integer count(User recipient) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM notifications WHERE user_id = ?",
+                Integer.class, recipient.getId());
+    }
+
+    private User createUser(String email) {
+        var created = new User();
+        created.setEmail(email);
+        created.setEncryptedPassword("123456");
+        created.setRole(RoleType.CANDIDATE);
+        return userRepository.save(created);
+    }
+}
@@ -0,0 +1,82 @@
+package io.hexlet.cv.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.hexlet.cv.model.Tag;
+import io.hexlet.cv.repository.TagRepository;
+import io.hexlet.cv.repository.TaggingRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+// flush по расписанию отключён, иначе он забирает дельты посреди теста
+@SpringBootTest(properties = "app.tags.counter.flush-interval=1h")
+class TagCounterServiceTest {
+
+    private static final String TAGGABLE_TYPE = "TagCounterTest";
+
+    @Autowired
+    private TagCounterService tagCounterService;
+    @Autowired
+    private TaggingService taggingService;
+    @Autowired
+    private TagRepository tagRepository;
+    @Autowired
+    private TaggingRepository taggingRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Tag tag;
+
+    @BeforeEach
+    void setUp() {
+        tag = new Tag();
+        tag.setName("tag-counter-test");
+        tag.setTaggingsCount(0);
+        tagRepository.save(tag);
+    }
+
+    @AfterEach
+    void tearDown() {
+        taggingRepository.deleteAll(taggingRepository.findByTaggableTypeAndTaggableId(TAGGABLE_TYPE, 1L));
+        taggingRepository.deleteAll(taggingRepository.findByTaggableTypeAndTaggableId(TAGGABLE_TYPE, 2L));
+        tagRepository.deleteById(tag.getId());
+    }
+
+    @Test
+    void testFlushAppliesDeltasAfterCommit() {
+        taggingService.tag(tag, TAGGABLE_TYPE, 1L, 1L);
+        taggingService.tag(tag, TAGGABLE_TYPE, 2L, 1L);
+
+        // приращения копятся в памяти, строка тега не тронута
+        assertThat(tagCounterService.pendingDelta(tag.getId())).isEqualTo(2);
+        assertThat(taggingsCount()).isZero();
+
+        tagCounterService.flush();
+
+        assertThat(taggingsCount()).isEqualTo(2);
+        assertThat(tagCounterService.pendingDelta(tag.getId())).isZero();
+    }
+
+    @Test
+    void testReconcileReplacesDriftedCounterAndPendingDeltas() {
+        taggingService.tag(tag, TAGGABLE_TYPE, 1L, 1L);
+        jdbcTemplate.update("UPDATE tags SET taggings_count = 7 WHERE id = ?", tag.getId());
+
+        tagCounterService.reconcile();
+
+        // дельта уже учтена в COUNT из taggings и повторно не применяется
+        assertThat(taggingsCount()).isEqualTo(1);
+        assertThat(tagCounterService.pendingDelta(tag.getId())).isZero();
+
+        tagCounterService.flush();
+        assertThat(taggingsCount()).isEqualTo(1);
+    }
+
+    private Integer taggingsCount() {
+        return jdbcTemplate.queryForObject("SELECT taggings_count FROM tags WHERE id = ?", Integer.class, tag.getId());
+    }
+}
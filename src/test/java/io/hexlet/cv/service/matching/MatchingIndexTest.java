@@ -0,0 +1,100 @@
+package io.hexlet.cv.service.matching;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+
+import io.hexlet.cv.service.matching.MatchingIndex.Match;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class MatchingIndexTest {
+
+    private final FeatureDictionary dictionary = new FeatureDictionary();
+
+    @Test
+    void testTopKOrdersByScoreAndLimits() {
+        var index = index(
+                Map.of("skill:java", 1f, "skill:spring", 1f),
+                Map.of("skill:java", 1f),
+                Map.of("skill:python", 1f));
+        var query = vector(Map.of("skill:java", 1f, "skill:spring", 1f));
+
+        var top = index.topK(query, 1);
+
+        assertThat(top).extracting(Match::id).containsExactly(0L);
+        assertThat(index.topK(query, 10)).extracting(Match::id).containsExactly(0L, 1L);
+    }
+
+    @Test
+    void testCandidatesComeOnlyFromSkillPostings() {
+        // общий город без общего навыка кандидатом не делает
+        var index = index(
+                Map.of("skill:java", 1f, "city:москва", 1f),
+                Map.of("skill:go", 1f, "city:москва", 1f));
+        var query = vector(Map.of("skill:java", 1f, "city:москва", 1f));
+
+        assertThat(index.topK(query, 10)).extracting(Match::id).containsExactly(0L);
+    }
+
+    @Test
+    void testDocumentInSeveralPostingsIsScoredOnce() {
+        var index = index(Map.of("skill:java", 1f, "skill:spring", 1f, "skill:sql", 1f));
+        var query = vector(Map.of("skill:java", 1f, "skill:spring", 1f, "skill:sql", 1f));
+
+        var top = index.topK(query, 10);
+
+        assertThat(top).hasSize(1);
+        assertThat(top.get(0).score()).isCloseTo(1.0, offset(1e-6));
+    }
+
+    @Test
+    void testParallelMergeMatchesBruteForce() {
+        // больше PARALLEL_THRESHOLD кандидатов: скор считается кусками и кучи сливаются
+        int size = 60_000;
+        var vectors = IntStream.range(0, size)
+                .mapToObj(i -> vector(Map.of("skill:java", 1f, "skill:s" + (i % 97), (i % 13) / 13f)))
+                .toArray(FeatureVector[]::new);
+        long[] ids = IntStream.range(0, size).asLongStream().toArray();
+        var index = MatchingIndex.build(ids, vectors, this::isSkill);
+        var query = vector(Map.of("skill:java", 1f, "skill:s5", 1f, "skill:s42", 0.5f));
+
+        var expected = IntStream.range(0, size)
+                .mapToObj(i -> new Match(ids[i], query.dot(vectors[i])))
+                .sorted(Comparator.comparingDouble(Match::score).reversed())
+                .limit(20)
+                .map(Match::score)
+                .toList();
+
+        assertThat(index.topK(query, 20)).extracting(Match::score).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void testFreeTextSkillsLimitedToVocabulary() {
+        var features = MatchingFeatures.resume("Опыт с Java и Spring, люблю котов", null, null, List.of(),
+                Set.of("java", "spring"));
+
+        assertThat(features.keySet()).containsExactlyInAnyOrder("skill:java", "skill:spring");
+    }
+
+    @SafeVarargs
+    private MatchingIndex index(Map<String, Float>... documents) {
+        var vectors = new FeatureVector[documents.length];
+        for (int i = 0; i < documents.length; i++) {
+            vectors[i] = vector(documents[i]);
+        }
+        long[] ids = IntStream.range(0, documents.length).asLongStream().toArray();
+        return MatchingIndex.build(ids, vectors, this::isSkill);
+    }
+
+    private FeatureVector vector(Map<String, Float> features) {
+        return FeatureVector.of(features, dictionary);
+    }
+
+    private boolean isSkill(int feature) {
+        return dictionary.name(feature).startsWith(MatchingFeatures.SKILL_PREFIX);
+    }
+}
@@ -0,0 +1,53 @@
+package io.hexlet.cv.service.versioning;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+
+class JsonMergePatchTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void testDiffAndApplyRoundTrip() throws Exception {
+        var from = object("""
+                {"name": "Резюме", "city": "Москва", "contacts": {"email": "a@example.com", "phone": "1"}}
+                """);
+        var to = object("""
+                {"name": "Резюме Java", "contacts": {"email": "a@example.com", "telegram": "@a"}, "skills": ["java"]}
+                """);
+
+        var patch = JsonMergePatch.diff(from, to);
+
+        assertThat(patch.has("city")).isTrue();
+        assertThat(patch.get("city").isNull()).isTrue();
+        assertThat(patch.get("contacts").has("email")).isFalse();
+        assertThat(JsonMergePatch.apply(from, patch)).isEqualTo(to);
+    }
+
+    @Test
+    void testDiffOfEqualStatesIsEmpty() throws Exception {
+        var state = object("""
+                {"name": "Резюме", "contacts": {"email": "a@example.com"}}
+                """);
+
+        assertThat(JsonMergePatch.diff(state, state.deepCopy()).isEmpty()).isTrue();
+    }
+
+    @Test
+    void testWithoutNullsRecursesIntoArrays() throws Exception {
+        var state = object("""
+                {"works": [{"company": "Hexlet", "finishedAt": null}, null], "city": null}
+                """);
+
+        assertThat(JsonMergePatch.withoutNulls(state)).isEqualTo(object("""
+                {"works": [{"company": "Hexlet"}, null]}
+                """));
+    }
+
+    private ObjectNode object(String json) throws Exception {
+        return (ObjectNode) objectMapper.readTree(json);
+    }
+}
@@ -0,0 +1,34 @@
+package io.hexlet.cv.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.hexlet.cv.component.query.QueryCounter;
+import io.hexlet.cv.component.query.QueryStats;
+import org.junit.jupiter.api.function.Executable;
+
+/**
+ * Проверка числа SQL, выполненных Hibernate внутри действия, например запроса через MockMvc.
+ * При превышении в сообщении будут самые частые отпечатки — обычно там и сидит N+1.
+ */
+public final class QueryCountAssertions {
+
+    private QueryCountAssertions() {
+    }
+
+    public static QueryStats countStatements(Executable action) throws Throwable {
+        var stats = QueryCounter.start();
+        try {
+            action.execute();
+        } finally {
+            QueryCounter.stop(stats);
+        }
+        return stats;
+    }
+
+    public static void assertStatementsAtMost(int max, Executable action) throws Throwable {
+        var stats = countStatements(action);
+        assertThat(stats.statements())
+                .as("SQL statements, top fingerprints %s", stats.topFingerprints(5))
+                .isLessThanOrEqualTo(max);
+    }
+}